@@ -0,0 +1,96 @@
+package com.timetable.timetable.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+
+/**
+ * Full score calculations per second on a generated, randomly assigned
+ * solution (TimetableProblemGenerator), for every constraint on its own and
+ * for all of them together.
+ *
+ * Each operation is a from-scratch calculation (SolutionManager#update),
+ * so it includes building the constraint stream session. The incremental
+ * speed the solver reaches during Local Search is reported by the solver
+ * benchmark (TimetableSolverBenchmark).
+ *
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args=ConstraintScore
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ConstraintScoreBenchmark {
+
+    private static final long SEED = 1L;
+
+    /** Chave do @Param → nome da constraint em TimetableConstraintProvider */
+    private static final Map<String, String> CONSTRAINTS = Map.of(
+            "teacherConflict", "Teacher conflict",
+            "roomConflict", "Room conflict",
+            "cohortConflict", "Cohort conflict",
+            "roomCapacity", "Insufficient room capacity",
+            "roomCourseRestriction", "Room course restriction violated",
+            "yearPeriodRestriction", "year-period restriction violation",
+            "sameSubjectConsecutiveSameDay", "Same subject consecutive lessons same day",
+            "massBlockedTimeslot", "Mass timeslot blocked on Friday");
+
+    @Param({ "small", "medium", "large" })
+    public String scale;
+
+    @Param({ "all", "teacherConflict", "roomConflict", "cohortConflict", "roomCapacity", "roomCourseRestriction",
+            "yearPeriodRestriction", "sameSubjectConsecutiveSameDay", "massBlockedTimeslot" })
+    public String constraint;
+
+    private SolutionManager<TimetableSolution, HardSoftScore> solutionManager;
+    private TimetableSolution solution;
+
+    @Setup
+    public void setUp() {
+        if (!"all".equals(constraint) && !CONSTRAINTS.containsKey(constraint)) {
+            throw new IllegalArgumentException("Unknown constraint: " + constraint);
+        }
+        SelectedConstraintProvider.constraintName = CONSTRAINTS.get(constraint);
+
+        SolverConfig config = new SolverConfig()
+                .withSolutionClass(TimetableSolution.class)
+                .withEntityClasses(LessonAssignment.class)
+                .withConstraintProviderClass(SelectedConstraintProvider.class);
+        solutionManager = SolutionManager.create(SolverFactory.create(config));
+
+        TimetableProblemGenerator.Scale problemScale = switch (scale) {
+            case "small" -> TimetableProblemGenerator.SMALL;
+            case "medium" -> TimetableProblemGenerator.MEDIUM;
+            case "large" -> TimetableProblemGenerator.LARGE;
+            default -> throw new IllegalArgumentException("Unknown scale: " + scale);
+        };
+        solution = TimetableProblemGenerator.assignRandomly(
+                TimetableProblemGenerator.generate(problemScale, SEED), SEED);
+    }
+
+    @Benchmark
+    public HardSoftScore calculateScore() {
+        return solutionManager.update(solution);
+    }
+}
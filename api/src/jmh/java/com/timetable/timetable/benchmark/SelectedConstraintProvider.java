@@ -0,0 +1,38 @@
+package com.timetable.timetable.benchmark;
+
+import java.util.Arrays;
+
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+
+import com.timetable.timetable.scheduler_engine.solver.TimetableConstraintProvider;
+
+/**
+ * The production constraints, or just one of them, so each constraint's
+ * score calculation cost can be measured on its own.
+ *
+ * Timefold instantiates the provider itself, hence the static selection: set
+ * it before building the SolverFactory. JMH forks a JVM per trial, so one
+ * selection never leaks into another trial.
+ */
+public class SelectedConstraintProvider extends TimetableConstraintProvider {
+
+    /** Constraint name to keep, or null for all of them */
+    static volatile String constraintName;
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory factory) {
+        Constraint[] constraints = super.defineConstraints(factory);
+        if (constraintName == null) {
+            return constraints;
+        }
+
+        Constraint[] selected = Arrays.stream(constraints)
+                .filter(constraint -> constraint.getConstraintRef().constraintName().equals(constraintName))
+                .toArray(Constraint[]::new);
+        if (selected.length == 0) {
+            throw new IllegalArgumentException("Unknown constraint: " + constraintName);
+        }
+        return selected;
+    }
+}
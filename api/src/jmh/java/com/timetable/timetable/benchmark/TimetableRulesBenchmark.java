@@ -0,0 +1,116 @@
+package com.timetable.timetable.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+import com.timetable.timetable.scheduler_engine.solver.TimetableRules;
+
+/**
+ * The per-match checks the constraints call on their hot path, each over the
+ * same {@value #SIZE} random inputs taken from the medium generated problem:
+ * timeslot pairs, rooms with course restrictions, course ids and years.
+ * Scores are in calls per microsecond.
+ *
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args=TimetableRules
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TimetableRulesBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final long SEED = 1L;
+
+    private final TimeslotInfo[] timeslots = new TimeslotInfo[SIZE];
+    private final TimeslotInfo[] otherTimeslots = new TimeslotInfo[SIZE];
+    private final RoomInfo[] rooms = new RoomInfo[SIZE];
+    private final long[] courseIds = new long[SIZE];
+    private final TimePeriod[] periods = new TimePeriod[SIZE];
+    private final int[] years = new int[SIZE];
+
+    @Setup
+    public void setUp() {
+        TimetableSolution problem = TimetableProblemGenerator.generate(TimetableProblemGenerator.MEDIUM, SEED);
+        List<TimeslotInfo> availableTimeslots = problem.getAvailableTimeslots();
+        List<RoomInfo> availableRooms = problem.getAvailableRooms();
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < SIZE; i++) {
+            timeslots[i] = availableTimeslots.get(random.nextInt(availableTimeslots.size()));
+            otherTimeslots[i] = availableTimeslots.get(random.nextInt(availableTimeslots.size()));
+            rooms[i] = availableRooms.get(random.nextInt(availableRooms.size()));
+            courseIds[i] = 1L + random.nextInt(TimetableProblemGenerator.MEDIUM.courses());
+            periods[i] = timeslots[i].getPeriod();
+            years[i] = 1 + random.nextInt(4);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void isSameDay(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(TimetableRules.isSameDay(timeslots[i], otherTimeslots[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void areConsecutive(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(TimetableRules.areConsecutive(timeslots[i], otherTimeslots[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void isMassBlocked(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(TimetableRules.isMassBlocked(timeslots[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void isPeriodAllowedForYear(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(TimetableRules.isPeriodAllowedForYear(years[i], periods[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void getPeriod(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(timeslots[i].getPeriod());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void isAvailableForCourse(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(rooms[i].isAvailableForCourse(courseIds[i], periods[i].ordinal()));
+        }
+    }
+}
@@ -154,6 +154,26 @@ public class GlobalExceptionHandler {
         return ResponseFactory.error(HttpStatus.CONFLICT, message, request);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(
+            ConflictException ex,
+            HttpServletRequest request) {
+        log.warn("409 Conflict on {} {}: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+        return ResponseFactory.error(HttpStatus.CONFLICT, ex.getMessage(), request);
+    }
+
+    // ================================
+    // Too Many Requests (429)
+    // ================================
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(
+            TooManyRequestsException ex,
+            HttpServletRequest request) {
+        log.warn("429 Too Many Requests: {} {} - {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+        return ResponseFactory.error(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request);
+    }
+
     // ================================
     // Method Not Allowed (405)
     // ================================
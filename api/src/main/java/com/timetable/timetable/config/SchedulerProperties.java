@@ -0,0 +1,135 @@
+package com.timetable.timetable.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.core.config.localsearch.LocalSearchType;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduler")
+@Getter
+@Setter
+public class SchedulerProperties {
+
+    private Permutation permutation = new Permutation();
+    private Solver solver = new Solver();
+    private Persistence persistence = new Persistence();
+
+    @Getter
+    @Setter
+    public static class Permutation {
+        private Cache cache = new Cache();
+        private Parallel parallel = new Parallel();
+    }
+
+    @Getter
+    @Setter
+    public static class Solver {
+        /** How long a /solver/{jobId}/events stream stays open */
+        private Duration eventsTimeout = Duration.ofMinutes(15);
+        /** Profile used when a request does not name one */
+        private String defaultProfile = "BALANCED";
+        /** Named solver settings a /generate request can pick, by name */
+        private Map<String, Profile> profiles = new LinkedHashMap<>(Map.of("BALANCED", new Profile()));
+        private Checkpoint checkpoint = new Checkpoint();
+        private Repair repair = new Repair();
+        private Partitioned partitioned = new Partitioned();
+        private Queue queue = new Queue();
+    }
+
+    /**
+     * Termination and phase settings of one solver profile.
+     * The defaults are the BALANCED profile.
+     */
+    @Getter
+    @Setter
+    public static class Profile {
+        /** Hard limit of the whole solve */
+        private Duration timeLimit = Duration.ofMinutes(5);
+        /** Stop earlier once the best score has not improved for this long; null = never */
+        private Duration unimprovedTimeLimit = Duration.ofSeconds(60);
+        private ConstructionHeuristicType constructionHeuristic = ConstructionHeuristicType.FIRST_FIT_DECREASING;
+        /** Hard limit of the construction heuristic, within timeLimit */
+        private Duration constructionTimeLimit = Duration.ofSeconds(30);
+        /** null = Timefold's default */
+        private LocalSearchType localSearchType;
+    }
+
+    @Getter
+    @Setter
+    public static class Persistence {
+        /** Write solver output with JDBC batches instead of JPA saveAll */
+        private boolean jdbcBatchEnabled = true;
+        /**
+         * Update the stored classes in place (UPDATE/INSERT/DELETE only what
+         * changed) instead of deleting and re-inserting them. Needs jdbcBatchEnabled.
+         */
+        private boolean diffEnabled = true;
+        /** Rows per JDBC batch */
+        private int batchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Checkpoint {
+        private boolean enabled = true;
+        /** Minimum time between two checkpoints of the same job */
+        private Duration interval = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Repair {
+        /** Hard limit of a repair solve after manual edits */
+        private Duration timeLimit = Duration.ofSeconds(15);
+        /** Stop earlier once the score has not improved for this long */
+        private Duration unimprovedTimeLimit = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Queue {
+        /** Jobs preparing (pre-solver + problem build) at the same time */
+        private int concurrency = 2;
+        /** Jobs waiting for a free slot; more are rejected with 429 */
+        private int capacity = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Partitioned {
+        /** Solve independent periods/courses concurrently before a short polish of the whole */
+        private boolean enabled = false;
+        /** Partitions solved at the same time, 0 = one per core */
+        private int parallelSolverCount = 0;
+        /** Hard limit of each partition solve */
+        private Duration timeLimit = Duration.ofSeconds(240);
+        private Duration unimprovedTimeLimit = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /** Number of (academicYear, semester) solutions kept in memory */
+        private int maxEntries = 8;
+        /** How long a cached solution is reused before it is rebuilt from the DB */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Parallel {
+        private boolean enabled = true;
+        /** Worker threads; 0 uses one per available core */
+        private int threads = 0;
+        /** Below this many candidates the loop runs on the request thread */
+        private int minCandidates = 8;
+    }
+}
@@ -0,0 +1,8 @@
+package com.timetable.timetable.domain.schedule.event;
+
+/**
+ * Published whenever a room, its capacity or its course restrictions are
+ * created, changed or deleted. Affects the working solutions of every period.
+ */
+public record RoomsChangedEvent(Long roomId) {
+}
@@ -0,0 +1,39 @@
+package com.timetable.timetable.domain.schedule.event;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.timetable.timetable.domain.schedule.entity.Timetable;
+
+/**
+ * Published whenever the scheduled classes of a timetable are created, moved
+ * or deleted, so in-memory views of that timetable can be refreshed.
+ *
+ * editedScheduledClassIds holds the classes a user created, moved or deleted
+ * by hand; it is empty when the solver rewrote the whole timetable.
+ * checkpoint is true when that rewrite is an intermediate solution of a
+ * running job rather than its final one.
+ */
+public record ScheduledClassesChangedEvent(int academicYear, int semester, Set<Long> editedScheduledClassIds,
+        boolean checkpoint) {
+
+    public static ScheduledClassesChangedEvent rewritten(Timetable timetable) {
+        return new ScheduledClassesChangedEvent(timetable.getAcademicYear(), timetable.getSemester(), Set.of(), false);
+    }
+
+    public static ScheduledClassesChangedEvent checkpointed(Timetable timetable) {
+        return new ScheduledClassesChangedEvent(timetable.getAcademicYear(), timetable.getSemester(), Set.of(), true);
+    }
+
+    public static ScheduledClassesChangedEvent edited(Timetable timetable, Long... scheduledClassIds) {
+        return new ScheduledClassesChangedEvent(timetable.getAcademicYear(), timetable.getSemester(),
+                Arrays.stream(scheduledClassIds).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet()),
+                false);
+    }
+
+    public boolean isSolverRewrite() {
+        return editedScheduledClassIds.isEmpty();
+    }
+}
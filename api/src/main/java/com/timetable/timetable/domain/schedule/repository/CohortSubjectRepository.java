@@ -1,5 +1,6 @@
 package com.timetable.timetable.domain.schedule.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -99,6 +100,8 @@ public interface CohortSubjectRepository extends JpaRepository<CohortSubject, Lo
             """)
     int sumCreditsByCohort(@Param("cohort") Cohort cohort);
 
+    long countByIdIn(Collection<Long> ids);
+
     @Modifying
     @Query("DELETE FROM CohortSubject cs WHERE cs.cohort.id = :cohortId")
     void deleteByCohortId(@Param("cohortId") Long cohortId);
@@ -1,5 +1,7 @@
 package com.timetable.timetable.domain.schedule.repository;
 
+import java.util.Collection;
+
 import com.timetable.timetable.domain.schedule.entity.Room;
 
 import org.springframework.data.domain.Page;
@@ -25,6 +27,8 @@ public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificat
     @EntityGraph(attributePaths = {"restrictions", "restrictions.course"})
     java.util.Optional<Room> findById(Long id);
 
+    long countByIdIn(Collection<Long> ids);
+
     @Query("SELECT MAX(r.capacity) FROM Room r")
     int findMaxCapacity();
 }
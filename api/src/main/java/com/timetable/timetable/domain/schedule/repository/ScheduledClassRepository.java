@@ -29,8 +29,18 @@ public interface ScheduledClassRepository extends JpaRepository<ScheduledClass,
 
     List<ScheduledClass> findByTimetableAndPinnedTrue(Timetable timetable);
 
+    List<ScheduledClass> findByTimetableAndPinnedFalse(Timetable timetable);
+
     void deleteByTimetableAndPinnedFalse(Timetable timetable);
 
+    /**
+     * Same as {@link #deleteByTimetableAndPinnedFalse} as a single bulk DELETE,
+     * without loading the rows. Bypasses the persistence context.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ScheduledClass sc WHERE sc.timetable = :timetable AND sc.pinned = false")
+    int deleteUnpinnedByTimetable(@Param("timetable") Timetable timetable);
+
     boolean existsByCohortSubjectAndTimeslot(CohortSubject cohortSubject, Timeslot timeslot);
 
     List<ScheduledClass> findByTimetableAndTimeslot(Timetable timetable, Timeslot timeslot);
@@ -1,8 +1,13 @@
 package com.timetable.timetable.domain.schedule.repository;
 
+import java.util.Collection;
+
 import com.timetable.timetable.domain.schedule.entity.Timeslot;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TimeslotRepository extends JpaRepository<Timeslot, Long> { }
+public interface TimeslotRepository extends JpaRepository<Timeslot, Long> {
+
+    long countByIdIn(Collection<Long> ids);
+}
@@ -11,9 +11,11 @@ import com.timetable.timetable.domain.schedule.entity.Course;
 import com.timetable.timetable.domain.schedule.entity.Room;
 import com.timetable.timetable.domain.schedule.entity.RoomCourseRestriction;
 import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.domain.schedule.event.RoomsChangedEvent;
 import com.timetable.timetable.domain.schedule.exception.RoomNotFoundException;
 import com.timetable.timetable.domain.schedule.repository.RoomRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -33,6 +35,7 @@ import java.util.List;
 public class RoomService {
     private final RoomRepository roomRepository;
     private final CourseService courseService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public Room createRoom(CreateRoomRequest roomRequest) {
         log.debug("Creating room");
@@ -51,6 +54,7 @@ public class RoomService {
         addRestrictions(room, roomRequest.restrictedToCourseId(), roomRequest.periodRestrictions());
 
         Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomsChangedEvent(saved.getId()));
 
         log.info("Room {} created", saved.getId());
         return saved;
@@ -137,6 +141,7 @@ public class RoomService {
         addRestrictions(room, updateRequest.restrictedToCourseId(), updateRequest.periodRestrictions());
 
         Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomsChangedEvent(id));
 
         log.info("Updated room {}", id);
         return saved;
@@ -149,6 +154,7 @@ public class RoomService {
         }
 
         roomRepository.deleteById(id);
+        eventPublisher.publishEvent(new RoomsChangedEvent(id));
         log.info("Room {} deleted", id);
     }
 
@@ -2,6 +2,7 @@ package com.timetable.timetable.domain.schedule.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -10,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.timetable.timetable.domain.schedule.dto.CreateScheduledClassRequest;
 import com.timetable.timetable.domain.schedule.dto.UpdateScheduledClassRequest;
 import com.timetable.timetable.domain.schedule.entity.*;
+import com.timetable.timetable.domain.schedule.event.ScheduledClassesChangedEvent;
 import com.timetable.timetable.domain.schedule.exception.ScheduledClassNotFoundException;
 import com.timetable.timetable.domain.schedule.repository.ScheduledClassRepository;
 
@@ -26,6 +28,7 @@ public class ScheduledClassService {
     private final TimetableService timetableService;
     private final RoomService roomService;
     private final TimeslotService timeslotService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ScheduledClass createScheduledClass(CreateScheduledClassRequest request) {
@@ -60,6 +63,7 @@ public class ScheduledClassService {
                 .build();
 
         ScheduledClass saved = scheduledClassRepository.save(scheduledClass);
+        publishChange(timetable, saved.getId());
 
         log.info(
                 "Scheduled class {} created for {} ({})",
@@ -139,12 +143,16 @@ public class ScheduledClassService {
                 timetable
         );
 
+        // Publicar também para o timetable antigo, caso a aula mude de timetable
+        publishChange(scheduledClass.getTimetable(), id);
+
         scheduledClass.setCohortSubject(cohortSubject);
         scheduledClass.setRoom(room);
         scheduledClass.setTimeslot(timeslot);
         scheduledClass.setTimetable(timetable);
 
         ScheduledClass updated = scheduledClassRepository.save(scheduledClass);
+        publishChange(timetable, id);
 
         log.info("Scheduled class {} updated", updated.getId());
         return updated;
@@ -152,15 +160,25 @@ public class ScheduledClassService {
 
     @Transactional
     public void deleteScheduledClass(Long id) {
-        if (!scheduledClassRepository.existsById(id)) {
-            throw new ScheduledClassNotFoundException(
-                    "Scheduled class with id %d not found".formatted(id)
-            );
-        }
-        scheduledClassRepository.deleteById(id);
+        ScheduledClass scheduledClass = scheduledClassRepository.findById(id)
+                .orElseThrow(() ->
+                        new ScheduledClassNotFoundException(
+                                "Scheduled class with id %d not found".formatted(id)
+                        )
+                );
+        Timetable timetable = scheduledClass.getTimetable();
+
+        scheduledClassRepository.delete(scheduledClass);
+        publishChange(timetable, id);
         log.info("Scheduled class {} deleted", id);
     }
 
+    private void publishChange(Timetable timetable, Long scheduledClassId) {
+        if (timetable != null) {
+            eventPublisher.publishEvent(ScheduledClassesChangedEvent.edited(timetable, scheduledClassId));
+        }
+    }
+
     private void validateCohortSubject(CohortSubject cohortSubject) {
         if (!cohortSubject.isActive()) {
             throw new IllegalStateException(
@@ -3,10 +3,14 @@ package com.timetable.timetable.scheduler_engine.domain;
 import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
 import ai.timefold.solver.core.api.domain.entity.PlanningPin;
 import ai.timefold.solver.core.api.domain.lookup.PlanningId;
+import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
 import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.timetable.timetable.scheduler_engine.domain.info.*;
 import lombok.*;
 
+import java.util.List;
+
 /**
  * Represents a single lesson that needs to be scheduled.
  * The solver will assign a timeslot and room to each lesson assignment.
@@ -15,8 +19,6 @@ import lombok.*;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class LessonAssignment {
 
     // ===== PLANNING ID =====
@@ -47,22 +49,102 @@ public class LessonAssignment {
      * The timeslot when this lesson will occur.
      * Initially null, assigned by the solver.
      */
-    @PlanningVariable(valueRangeProviderRefs = "timeslotRange")
+    @PlanningVariable(valueRangeProviderRefs = "lessonTimeslotRange")
     private TimeslotInfo timeslot;
 
     /**
      * The room where this lesson will take place.
      * Initially null, assigned by the solver.
      */
-    @PlanningVariable(valueRangeProviderRefs = "roomRange")
+    @PlanningVariable(valueRangeProviderRefs = "lessonRoomRange")
     private RoomInfo room;
 
-    @PlanningPin
+    // ===== VALUE RANGES =====
+    // Subsets of the solution's timeslots and rooms this lesson may take,
+    // precomputed from the static rules (see LessonValueRanges)
+
+    @JsonIgnore
+    @ValueRangeProvider(id = "lessonTimeslotRange")
+    private List<TimeslotInfo> timeslotRange;
+
+    @JsonIgnore
+    @ValueRangeProvider(id = "lessonRoomRange")
+    private List<RoomInfo> roomRange;
+
+    /**
+     * Pinned in the database (e.g. by the business simulation); never persisted
+     * back by the solver.
+     */
     private boolean pinned;
 
+    /**
+     * Kept in place during a repair solve because the coordinator moved it by
+     * hand. Unlike {@link #pinned}, it is still persisted as a regular class.
+     */
+    private boolean locked;
+
+    // ===== PRECOMPUTED KEYS =====
+    // Dense indexes (see the Info classes) of the cohortSubject's teacher,
+    // cohort and subject, -1 when missing. Kept in sync by setCohortSubject;
+    // the constraint joiners use them instead of hashing the Info objects.
+
+    @Setter(AccessLevel.NONE)
+    private int teacherIndex = -1;
+
+    @Setter(AccessLevel.NONE)
+    private int cohortIndex = -1;
+
+    @Setter(AccessLevel.NONE)
+    private int subjectIndex = -1;
+
+    @Builder
+    public LessonAssignment(Long id, CohortSubjectInfo cohortSubject, int blockNumber, TimeslotInfo timeslot,
+            RoomInfo room, boolean pinned, boolean locked) {
+        this.id = id;
+        this.blockNumber = blockNumber;
+        this.timeslot = timeslot;
+        this.room = room;
+        this.pinned = pinned;
+        this.locked = locked;
+        setCohortSubject(cohortSubject);
+    }
+
+    public void setCohortSubject(CohortSubjectInfo cohortSubject) {
+        this.cohortSubject = cohortSubject;
+
+        TeacherInfo teacher = cohortSubject != null ? cohortSubject.getTeacher() : null;
+        CohortInfo cohort = cohortSubject != null ? cohortSubject.getCohort() : null;
+        SubjectInfo subject = cohortSubject != null ? cohortSubject.getSubject() : null;
+        this.teacherIndex = teacher != null ? teacher.getIndex() : -1;
+        this.cohortIndex = cohort != null ? cohort.getIndex() : -1;
+        this.subjectIndex = subject != null ? subject.getIndex() : -1;
+    }
+
     // ===== CONVENIENCE METHODS =====
     // Quick access to nested information
 
+    /**
+     * Whether the solver may move this lesson
+     */
+    @PlanningPin
+    public boolean isFixed() {
+        return pinned || locked;
+    }
+
+    /**
+     * Index of the assigned timeslot, -1 if unassigned
+     */
+    public int getTimeslotIndex() {
+        return timeslot != null ? timeslot.getIndex() : -1;
+    }
+
+    /**
+     * Index of the assigned room, -1 if unassigned
+     */
+    public int getRoomIndex() {
+        return room != null ? room.getIndex() : -1;
+    }
+
     /**
      * Gets the teacher assigned to this lesson
      */
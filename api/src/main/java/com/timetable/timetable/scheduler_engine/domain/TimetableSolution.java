@@ -4,7 +4,6 @@ import ai.timefold.solver.core.api.domain.solution.PlanningEntityCollectionPrope
 import ai.timefold.solver.core.api.domain.solution.PlanningScore;
 import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
 import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
-import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
 import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
 import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
 import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
@@ -31,13 +30,12 @@ public class TimetableSolution {
     private List<LessonAssignment> lessonAssignments;
     
     // ===== PROBLEM FACTS =====
-    // These are the available resources that won't change during solving
+    // These are the available resources that won't change during solving.
+    // Each lesson takes its values from its own subset (LessonAssignment ranges)
     
-    @ValueRangeProvider(id = "timeslotRange")
     @ProblemFactCollectionProperty
     private List<TimeslotInfo> availableTimeslots;
     
-    @ValueRangeProvider(id = "roomRange")
     @ProblemFactCollectionProperty
     private List<RoomInfo> availableRooms;
     
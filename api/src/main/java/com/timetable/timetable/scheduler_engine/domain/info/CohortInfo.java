@@ -1,47 +1,52 @@
 package com.timetable.timetable.scheduler_engine.domain.info;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * Represents a student group (cohort) in the scheduling problem.
  * This is a lightweight, immutable representation for the solver.
  */
 @Getter
-@Setter
-@NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class CohortInfo {
     
     /**
      * Unique identifier from the Cohort entity
      */
-    private Long id;
+    private final Long id;
+
+    /**
+     * Position of this cohort in the planning problem (0..n-1), for joiners and array lookups
+     */
+    private final int index;
     
     /**
      * Human-readable name (e.g., "1ano-Engenharia Informatica-A-2026")
      */
-    private String displayName;
+    private final String displayName;
     
     /**
      * Number of students in this cohort (for room capacity validation)
      */
-    private int studentCount;
+    private final int studentCount;
     
     /**
      * The course/program this cohort belongs to (for room restrictions)
      */
-    private Long courseId;
+    private final long courseId;
     
     /**
      * The cohort's current year (1, 2, 3, etc.)
      */
-    private int year;
+    private final int year;
     
     /**
      * The section identifier (A, B, C, etc.)
      */
-    private String section;
+    private final String section;
     
     @Override
     public boolean equals(Object o) {
@@ -1,43 +1,43 @@
 package com.timetable.timetable.scheduler_engine.domain.info;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * Represents a specific subject being taught to a specific cohort by a specific teacher.
  * This is the "lesson instance" that needs to be scheduled multiple times per week.
  */
 @Getter
-@Setter
-@NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class CohortSubjectInfo {
     
     /**
      * Unique identifier from the CohortSubject entity
      */
-    private Long id;
+    private final Long id;
     
     /**
      * The student group taking this subject
      */
-    private CohortInfo cohort;
+    private final CohortInfo cohort;
     
     /**
      * The subject being taught
      */
-    private SubjectInfo subject;
+    private final SubjectInfo subject;
     
     /**
      * The teacher assigned to teach this subject to this cohort
      */
-    private TeacherInfo teacher;
+    private final TeacherInfo teacher;
     
     /**
      * How many lesson blocks per week are needed for this cohort-subject.
      * Pre-calculated from AcademicPolicy based on subject credits.
      */
-    private int lessonBlocksPerWeek;
+    private final int lessonBlocksPerWeek;
     
     /**
      * Returns a human-readable description
@@ -1,57 +1,103 @@
 package com.timetable.timetable.scheduler_engine.domain.info;
 
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
 
 import com.timetable.timetable.domain.schedule.entity.TimePeriod;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * Represents a physical room where lessons can take place.
  * This is a lightweight, immutable representation for the solver.
  */
 @Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class RoomInfo {
     
     /**
      * Unique identifier from the Room entity
      */
-    private Long id;
+    private final Long id;
+
+    /**
+     * Position of this room in the planning problem (0..n-1), for array lookups
+     */
+    private final int index;
     
     /**
      * Room name/number (e.g., "A101", "Lab 3")
      */
-    private String name;
+    private final String name;
     
     /**
      * Maximum number of students the room can accommodate
      */
-    private int capacity;
-    
-    private Map<TimePeriod, Set<Long>> allowedCoursesByPeriod;
+    private final int capacity;
     
     /**
-     * Checks if this room can be used by a specific course in a specifig time period
+     * Courses allowed per period (RoomCourseRestriction); empty = open to everyone
      */
-    public boolean isAvailableForCourse(Long courseId, TimePeriod period) {
-        // Sem restrições = disponível para todos
-        if (allowedCoursesByPeriod == null || allowedCoursesByPeriod.isEmpty()) {
-            return true;
-        }
+    private final Map<TimePeriod, Set<Long>> allowedCoursesByPeriod;
+
+    /**
+     * The same restrictions as one bitmask of course ids per period ordinal;
+     * null = no restriction in that period
+     */
+    @Getter(AccessLevel.NONE)
+    private final BitSet[] allowedCourseMasks;
+
+    @Builder(toBuilder = true)
+    @Jacksonized
+    public RoomInfo(Long id, int index, String name, int capacity, Map<TimePeriod, Set<Long>> allowedCoursesByPeriod) {
+        this.id = id;
+        this.index = index;
+        this.name = name;
+        this.capacity = capacity;
+        this.allowedCourseMasks = new BitSet[TimePeriod.values().length];
 
+        Map<TimePeriod, Set<Long>> allowed = new EnumMap<>(TimePeriod.class);
+        if (allowedCoursesByPeriod != null) {
+            allowedCoursesByPeriod.forEach((period, courseIds) -> {
+                if (courseIds == null || courseIds.isEmpty()) {
+                    return;
+                }
+                BitSet mask = new BitSet();
+                courseIds.forEach(courseId -> mask.set(Math.toIntExact(courseId)));
+                allowedCourseMasks[period.ordinal()] = mask;
+                allowed.put(period, Set.copyOf(courseIds));
+            });
+        }
+        this.allowedCoursesByPeriod = Collections.unmodifiableMap(allowed);
+    }
+    
+    /**
+     * Checks if this room can be used by a specific course in a specific period
+     * ({@link TimePeriod#ordinal()}). Hot path of HC5: one bit test, no boxing.
+     */
+    public boolean isAvailableForCourse(long courseId, int periodOrdinal) {
         // Sem restrição para este período = disponível para todos neste período
-        Set<Long> allowedCourses = allowedCoursesByPeriod.get(period);
-        if (allowedCourses == null || allowedCourses.isEmpty()) {
+        BitSet allowedCourses = allowedCourseMasks[periodOrdinal];
+        if (allowedCourses == null) {
             return true;
         }
 
         // Verificar se o curso está na lista permitida
-        return allowedCourses.contains(courseId);
+        return courseId >= 0 && courseId <= Integer.MAX_VALUE && allowedCourses.get((int) courseId);
+    }
+
+    /**
+     * Checks if this room can be used by a specific course in a specifig time period.
+     * A lesson without course only gets the rooms that are open in that period.
+     */
+    public boolean isAvailableForCourse(Long courseId, TimePeriod period) {
+        if (courseId == null) {
+            return allowedCourseMasks[period.ordinal()] == null;
+        }
+        return isAvailableForCourse(courseId.longValue(), period.ordinal());
     }
     
     /**
@@ -1,44 +1,49 @@
 package com.timetable.timetable.scheduler_engine.domain.info;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * Represents an academic subject/course in the scheduling problem.
  * This is a lightweight, immutable representation for the solver.
  */
 @Getter
-@Setter
-@NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class SubjectInfo {
     
     /**
      * Unique identifier from the Subject entity
      */
-    private Long id;
+    private final Long id;
+
+    /**
+     * Position of this subject in the planning problem (0..n-1), for joiners and array lookups
+     */
+    private final int index;
     
     /**
      * Subject name (e.g., "Algoritmos e Estruturas de Dados")
      */
-    private String name;
+    private final String name;
     
     /**
      * Number of credits (used for calculating lesson blocks)
      */
-    private int credits;
+    private final int credits;
     
     /**
      * Target year for this subject (1, 2, 3, etc.)
      */
-    private int targetYear;
+    private final int targetYear;
     
     /**
      * Target semester (1 or 2)
      */
-    private int targetSemester;
+    private final int targetSemester;
 
-    private boolean fixedDaySession;
+    private final boolean fixedDaySession;
     
     @Override
     public boolean equals(Object o) {
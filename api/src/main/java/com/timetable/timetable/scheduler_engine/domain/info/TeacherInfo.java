@@ -1,39 +1,44 @@
 package com.timetable.timetable.scheduler_engine.domain.info;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * Represents a teacher in the scheduling problem.
  * This is a lightweight, immutable representation for the solver.
  */
 @Getter
-@Setter
-@NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class TeacherInfo {
     
     /**
      * Unique identifier from the ApplicationUser entity
      */
-    private Long id;
+    private final Long id;
+
+    /**
+     * Position of this teacher in the planning problem (0..n-1), for joiners and array lookups
+     */
+    private final int index;
     
     /**
      * Teacher's name or username
      */
-    private String name;
+    private final String name;
     
     /**
      * Teacher's full name (if different from username)
      */
-    private String fullName;
+    private final String fullName;
     
     /**
      * Email address (optional, for reporting)
      */
-    private String email;
+    private final String email;
 
-    private boolean simulationTeam;
+    private final boolean simulationTeam;
     
     @Override
     public boolean equals(Object o) {
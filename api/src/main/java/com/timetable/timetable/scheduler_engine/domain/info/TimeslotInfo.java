@@ -1,65 +1,117 @@
 package com.timetable.timetable.scheduler_engine.domain.info;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
+
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.BitSet;
 
 import com.timetable.timetable.domain.schedule.entity.TimePeriod;
 
 /**
  * Represents a time slot when lessons can be scheduled.
  * This is a lightweight, immutable representation for the solver.
+ *
+ * Everything the constraints read on their hot path (day, minutes, period) is
+ * computed once here, as primitives, instead of on every access.
  */
 @Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class TimeslotInfo {
     
     /**
      * Unique identifier from the Timeslot entity
      */
-    private Long id;
+    private final Long id;
+
+    /**
+     * Position of this timeslot in the planning problem (0..n-1), for array lookups
+     */
+    private final int index;
     
     /**
      * Day of the week (MONDAY, TUESDAY, etc.)
      */
-    private DayOfWeek dayOfWeek;
+    private final DayOfWeek dayOfWeek;
     
     /**
      * Start time (e.g., 08:00)
      */
-    private LocalTime startTime;
+    private final LocalTime startTime;
     
     /**
      * End time (e.g., 09:50 for a 110-minute block)
      */
-    private LocalTime endTime;
+    private final LocalTime endTime;
+
+    // ===== PRECOMPUTED =====
+
+    /**
+     * Gets the day as an integer (1=Monday, 5=Friday) for sorting/comparisons
+     */
+    private final int dayNumber;
+
+    /**
+     * Start and end as minutes since midnight
+     */
+    private final int startMinute;
+    private final int endMinute;
+
+    private final TimePeriod period;
+
+    /**
+     * {@link TimePeriod#ordinal()} of the period, -1 without a start time
+     */
+    private final int periodOrdinal;
 
-    public TimePeriod getPeriod() {
-        return TimePeriod.fromStartTime(startTime);
+    /**
+     * Indexes of the timeslots consecutive to this one (HC7), filled in once
+     * per problem by TimetableRules#withConsecutiveTable; null when not built
+     */
+    @Getter(AccessLevel.NONE)
+    private final BitSet consecutiveIndexes;
+
+    @Builder(toBuilder = true)
+    @Jacksonized
+    public TimeslotInfo(Long id, int index, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime,
+            BitSet consecutiveIndexes) {
+        this.id = id;
+        this.index = index;
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.consecutiveIndexes = consecutiveIndexes != null ? (BitSet) consecutiveIndexes.clone() : null;
+
+        this.dayNumber = dayOfWeek != null ? dayOfWeek.getValue() : 0;
+        this.startMinute = startTime != null ? startTime.toSecondOfDay() / 60 : -1;
+        this.endMinute = endTime != null ? endTime.toSecondOfDay() / 60 : -1;
+        this.period = startTime != null ? TimePeriod.fromStartTime(startTime) : null;
+        this.periodOrdinal = period != null ? period.ordinal() : -1;
     }
     
+    public boolean hasConsecutiveTable() {
+        return consecutiveIndexes != null;
+    }
+
     /**
-     * Returns a human-readable description (e.g., "MONDAY 08:00-09:50")
+     * Table lookup of HC7 consecutiveness; only meaningful if {@link #hasConsecutiveTable()}
      */
-    public String getDisplayName() {
-        return dayOfWeek + " " + startTime + "-" + endTime;
+    public boolean isConsecutiveWith(int otherIndex) {
+        return consecutiveIndexes.get(otherIndex);
     }
-    
+
     /**
-     * Gets the day as an integer (1=Monday, 5=Friday) for sorting/comparisons
+     * Returns a human-readable description (e.g., "MONDAY 08:00-09:50")
      */
-    public int getDayNumber() {
-        return dayOfWeek.getValue();
+    public String getDisplayName() {
+        return dayOfWeek + " " + startTime + "-" + endTime;
     }
     
     /**
      * Checks if this timeslot is on the same day as another
      */
     public boolean isSameDay(TimeslotInfo other) {
-        return other != null && this.dayOfWeek == other.dayOfWeek;
+        return other != null && this.dayNumber == other.dayNumber;
     }
     
     /**
@@ -69,8 +121,8 @@ public class TimeslotInfo {
         if (other == null || !isSameDay(other)) {
             return false;
         }
-        return this.startTime.isBefore(other.endTime) && 
-               this.endTime.isAfter(other.startTime);
+        return this.startMinute < other.endMinute && 
+               this.endMinute > other.startMinute;
     }
     
     @Override
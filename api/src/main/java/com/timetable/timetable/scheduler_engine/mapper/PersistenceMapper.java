@@ -5,10 +5,17 @@ import com.timetable.timetable.domain.schedule.repository.*;
 import com.timetable.timetable.scheduler_engine.domain.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 /**
  * Handles persistence-level mapping with repository access.
@@ -28,8 +35,9 @@ public class PersistenceMapper {
      * Converts a solved TimetableSolution to ScheduledClass entities with proper JPA references.
      * 
      * This method:
-     * 1. Iterates through all lesson assignments
-     * 2. Fetches the actual JPA entities from the database using their IDs
+     * 1. Collects the distinct CohortSubject, Timeslot and Room IDs of the assigned lessons
+     * 2. Checks they all exist (one count query per entity type) and takes
+     *    lazy references to them, without loading the entities
      * 3. Creates ScheduledClass entities linking everything together
      * 4. Associates them with the given Timetable
      * 
@@ -50,7 +58,7 @@ public class PersistenceMapper {
         log.info("Converting {} lesson assignments to ScheduledClass entities with DB references",
             solution.getLessonAssignments().size());
         
-        List<ScheduledClass> scheduledClasses = new ArrayList<>();
+        List<LessonAssignment> toPersist = new ArrayList<>();
         int skippedCount = 0;
         
         for (LessonAssignment lesson : solution.getLessonAssignments()) {
@@ -63,44 +71,29 @@ public class PersistenceMapper {
                 skippedCount++;
                 continue;
             }
-            
-            try {
-                // Fetch JPA entities by ID
-                Long cohortSubjectId = lesson.getCohortSubject().getId();
-                Long timeslotId = lesson.getTimeslot().getId();
-                Long roomId = lesson.getRoom().getId();
-                
-                CohortSubject cohortSubject = cohortSubjectRepository
-                    .findById(cohortSubjectId)
-                    .orElseThrow(() -> new IllegalStateException(
-                        "CohortSubject not found: " + cohortSubjectId));
-                
-                Timeslot timeslot = timeslotRepository
-                    .findById(timeslotId)
-                    .orElseThrow(() -> new IllegalStateException(
-                        "Timeslot not found: " + timeslotId));
-                
-                Room room = roomRepository
-                    .findById(roomId)
-                    .orElseThrow(() -> new IllegalStateException(
-                        "Room not found: " + roomId));
-                
-                // Create the scheduled class
-                ScheduledClass scheduledClass = ScheduledClass.builder()
-                    .cohortSubject(cohortSubject)
-                    .timeslot(timeslot)
-                    .room(room)
-                    .timetable(timetable)
-                    .build();
-                
-                scheduledClasses.add(scheduledClass);
-                
-            } catch (Exception e) {
-                log.error("Error converting lesson {} to ScheduledClass: {}", 
-                    lesson.getId(), e.getMessage(), e);
-                throw new IllegalStateException(
-                    "Failed to convert lesson assignment to scheduled class", e);
-            }
+            toPersist.add(lesson);
+        }
+        
+        // Só precisamos das FKs — 3 contagens e referências, sem carregar entidades
+        Map<Long, CohortSubject> cohortSubjects = referencesById(cohortSubjectRepository,
+            cohortSubjectRepository::countByIdIn, toPersist,
+            lesson -> lesson.getCohortSubject().getId(), CohortSubject::getId, "CohortSubject");
+        Map<Long, Timeslot> timeslots = referencesById(timeslotRepository,
+            timeslotRepository::countByIdIn, toPersist,
+            lesson -> lesson.getTimeslot().getId(), Timeslot::getId, "Timeslot");
+        Map<Long, Room> rooms = referencesById(roomRepository,
+            roomRepository::countByIdIn, toPersist,
+            lesson -> lesson.getRoom().getId(), Room::getId, "Room");
+        
+        List<ScheduledClass> scheduledClasses = new ArrayList<>(toPersist.size());
+        
+        for (LessonAssignment lesson : toPersist) {
+            scheduledClasses.add(ScheduledClass.builder()
+                .cohortSubject(cohortSubjects.get(lesson.getCohortSubject().getId()))
+                .timeslot(timeslots.get(lesson.getTimeslot().getId()))
+                .room(rooms.get(lesson.getRoom().getId()))
+                .timetable(timetable)
+                .build());
         }
         
         log.info("Successfully converted {} lessons to ScheduledClass entities ({} skipped as unassigned)",
@@ -115,6 +108,33 @@ public class PersistenceMapper {
         return scheduledClasses;
     }
     
+    /**
+     * Returns lazy references (getReferenceById) to the distinct entities
+     * referenced by the lessons, after checking with a single count query
+     * that all of them exist.
+     */
+    private static <T> Map<Long, T> referencesById(
+            JpaRepository<T, Long> repository,
+            ToLongFunction<Set<Long>> countByIdIn,
+            List<LessonAssignment> lessons,
+            Function<LessonAssignment, Long> idOf,
+            Function<T, Long> entityId,
+            String entityName) {
+        
+        Set<Long> ids = lessons.stream().map(idOf).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        
+        if (countByIdIn.applyAsLong(ids) != ids.size()) {
+            // Só no caso de erro carrega as entidades, para dizer quais faltam
+            Set<Long> missing = new HashSet<>(ids);
+            repository.findAllById(ids).forEach(entity -> missing.remove(entityId.apply(entity)));
+            throw new IllegalStateException(entityName + " not found: " + missing);
+        }
+        return ids.stream().collect(Collectors.toMap(Function.identity(), repository::getReferenceById));
+    }
+    
     /**
      * Validates that a TimetableSolution is ready to be persisted.
      * 
@@ -3,17 +3,18 @@ package com.timetable.timetable.scheduler_engine.mapper;
 import com.timetable.timetable.domain.schedule.entity.*;
 import com.timetable.timetable.scheduler_engine.domain.*;
 import com.timetable.timetable.scheduler_engine.domain.info.*;
+import com.timetable.timetable.scheduler_engine.solver.LessonValueRanges;
+import com.timetable.timetable.scheduler_engine.solver.TimetableRules;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Maps between JPA persistence entities and solver domain objects.
@@ -37,7 +38,9 @@ public class TimetableSolutionMapper {
      * 1. Converts all timeslots and rooms into Info objects (problem facts)
      * 2. For each CohortSubject, generates N empty LessonAssignments
      * (where N = blocks needed per week)
-     * 3. Returns a TimetableSolution with unassigned planning variables
+     * 3. Returns a TimetableSolution with unassigned planning variables, each
+     * lesson restricted to the timeslots and rooms the static rules allow
+     * (LessonValueRanges)
      * 
      * @param cohortSubjects Active cohort-subject combinations for this semester
      * @param timeslots      Available time slots for scheduling
@@ -52,18 +55,31 @@ public class TimetableSolutionMapper {
             List<Room> rooms,
             int academicYear,
             int semester) {
+        return toPlanningProblem(cohortSubjects, List.of(), timeslots, rooms, academicYear, semester);
+    }
+
+    /**
+     * Same as above, plus the pinned ScheduledClasses (e.g. set by the
+     * business simulation) as already fixed LessonAssignments, built over the
+     * same problem facts.
+     *
+     * @param pinnedClasses pinned rows; their CohortSubjects must not be in cohortSubjects
+     */
+    public TimetableSolution toPlanningProblem(
+            List<CohortSubject> cohortSubjects,
+            List<ScheduledClass> pinnedClasses,
+            List<Timeslot> timeslots,
+            List<Room> rooms,
+            int academicYear,
+            int semester) {
 
         log.info("Converting {} CohortSubjects, {} timeslots, {} rooms to planning problem",
                 cohortSubjects.size(), timeslots.size(), rooms.size());
 
         // Convert problem facts (resources)
-        List<TimeslotInfo> timeslotInfos = timeslots.stream()
-                .map(this::toTimeslotInfo)
-                .collect(Collectors.toList());
-
-        List<RoomInfo> roomInfos = rooms.stream()
-                .map(this::toRoomInfo)
-                .collect(Collectors.toList());
+        ProblemFacts facts = new ProblemFacts();
+        List<TimeslotInfo> timeslotInfos = facts.timeslots(timeslots);
+        List<RoomInfo> roomInfos = facts.rooms(rooms);
 
         // Generate lesson assignments (planning entities)
         List<LessonAssignment> lessonAssignments = new ArrayList<>();
@@ -71,7 +87,7 @@ public class TimetableSolutionMapper {
 
         for (CohortSubject cs : cohortSubjects) {
             int blocksNeeded = cs.getLessonBlocksPerWeek();
-            CohortSubjectInfo csInfo = toCohortSubjectInfo(cs);
+            CohortSubjectInfo csInfo = facts.cohortSubject(cs);
 
             log.debug("CohortSubject #{}: {} needs {} blocks/week",
                     cs.getId(), csInfo.getDisplayName(), blocksNeeded);
@@ -93,14 +109,38 @@ public class TimetableSolutionMapper {
         log.info("Generated {} lesson assignments from {} cohort-subjects",
                 lessonAssignments.size(), cohortSubjects.size());
 
-        return TimetableSolution.builder()
+        // Injeta os pinned como LessonAssignments já fixos
+        if (!pinnedClasses.isEmpty()) {
+            for (ScheduledClass sc : pinnedClasses) {
+                TimeslotInfo timeslot = facts.timeslot(sc.getTimeslot().getId());
+                RoomInfo room = facts.room(sc.getRoom().getId());
+
+                if (timeslot == null || room == null) {
+                    log.warn("Pinned ScheduledClass id={} has invalid timeslot/room — skipping", sc.getId());
+                    continue;
+                }
+
+                lessonAssignments.add(LessonAssignment.builder()
+                        .id(-sc.getId())
+                        .cohortSubject(facts.cohortSubject(sc.getCohortSubject()))
+                        .blockNumber(0)
+                        .timeslot(timeslot)
+                        .room(room)
+                        .pinned(true)
+                        .build());
+            }
+
+            log.info("Injected {} pinned LessonAssignments into planning problem", pinnedClasses.size());
+        }
+
+        return LessonValueRanges.assign(TimetableSolution.builder()
                 .lessonAssignments(lessonAssignments)
                 .availableTimeslots(timeslotInfos)
                 .availableRooms(roomInfos)
                 .academicYear(academicYear)
                 .semester(semester)
                 .score(null) // Will be calculated by solver
-                .build();
+                .build());
     }
 
     /**
@@ -193,35 +233,19 @@ public class TimetableSolutionMapper {
 
         log.info("Rebuilding TimetableSolution from {} persisted ScheduledClasses", scheduledClasses.size());
 
-        List<TimeslotInfo> timeslotInfos = timeslots.stream()
-                .map(this::toTimeslotInfo)
-                .collect(Collectors.toList());
-
-        List<RoomInfo> roomInfos = rooms.stream()
-                .map(this::toRoomInfo)
-                .collect(Collectors.toList());
-
-        // Build a lookup so we can set TimeslotInfo/RoomInfo instances from the
-        // value-range lists.
-        // ScoreManager requires the planning variable values to be the SAME object
-        // instances
-        // that appear in the value range — otherwise constraints that compare by
-        // reference break.
-        Map<Long, TimeslotInfo> timeslotById = timeslotInfos.stream()
-                .collect(Collectors.toMap(TimeslotInfo::getId, Function.identity()));
-
-        Map<Long, RoomInfo> roomById = roomInfos.stream()
-                .collect(Collectors.toMap(RoomInfo::getId, Function.identity()));
+        ProblemFacts facts = new ProblemFacts();
+        List<TimeslotInfo> timeslotInfos = facts.timeslots(timeslots);
+        List<RoomInfo> roomInfos = facts.rooms(rooms);
 
         List<LessonAssignment> lessons = new ArrayList<>();
 
         for (ScheduledClass sc : scheduledClasses) {
-            CohortSubjectInfo csInfo = toCohortSubjectInfo(sc.getCohortSubject());
+            CohortSubjectInfo csInfo = facts.cohortSubject(sc.getCohortSubject());
 
             // Use the value-range instance (same object reference) — critical for
-            // ScoreManager
-            TimeslotInfo timeslot = timeslotById.get(sc.getTimeslot().getId());
-            RoomInfo room = roomById.get(sc.getRoom().getId());
+            // ScoreManager: constraints that compare by reference break otherwise
+            TimeslotInfo timeslot = facts.timeslot(sc.getTimeslot().getId());
+            RoomInfo room = facts.room(sc.getRoom().getId());
 
             if (timeslot == null || room == null) {
                 log.warn("Skipping ScheduledClass id={}: timeslot or room not in value range", sc.getId());
@@ -242,87 +266,172 @@ public class TimetableSolutionMapper {
 
         log.info("Rebuilt {} LessonAssignments", lessons.size());
 
-        return TimetableSolution.builder()
+        return LessonValueRanges.assign(TimetableSolution.builder()
                 .lessonAssignments(lessons)
                 .availableTimeslots(timeslotInfos)
                 .availableRooms(roomInfos)
                 .academicYear(academicYear)
                 .semester(semester)
                 .score(null) // ScoreManager will calculate
-                .build();
+                .build());
+    }
+
+    /**
+     * Indexes a problem that did not come from toPlanningProblem (e.g. the raw
+     * JSON of the test endpoint): every fact gets its dense index, and every
+     * lesson points at one shared instance per fact, the timeslot and room
+     * taken from the value ranges. The constraints join on these indexes.
+     * The lessons' value ranges are rebuilt over the new instances.
+     */
+    public TimetableSolution reindex(TimetableSolution problem) {
+        Map<Long, TimeslotInfo> timeslots = new LinkedHashMap<>();
+        for (TimeslotInfo timeslot : problem.getAvailableTimeslots()) {
+            timeslots.putIfAbsent(timeslot.getId(), timeslot.toBuilder().index(timeslots.size()).build());
+        }
+        TimetableRules.withConsecutiveTable(new ArrayList<>(timeslots.values()))
+                .forEach(timeslot -> timeslots.put(timeslot.getId(), timeslot));
+        Map<Long, RoomInfo> rooms = new LinkedHashMap<>();
+        for (RoomInfo room : problem.getAvailableRooms()) {
+            rooms.putIfAbsent(room.getId(), room.toBuilder().index(rooms.size()).build());
+        }
+
+        Map<Long, CohortInfo> cohorts = new HashMap<>();
+        Map<Long, TeacherInfo> teachers = new HashMap<>();
+        Map<Long, SubjectInfo> subjects = new HashMap<>();
+        Map<Long, CohortSubjectInfo> cohortSubjects = new HashMap<>();
+
+        for (LessonAssignment lesson : problem.getLessonAssignments()) {
+            CohortSubjectInfo cs = lesson.getCohortSubject();
+            if (cs != null) {
+                lesson.setCohortSubject(cohortSubjects.computeIfAbsent(cs.getId(), id -> cs.toBuilder()
+                        .cohort(cs.getCohort() == null ? null : cohorts.computeIfAbsent(cs.getCohort().getId(),
+                                cohortId -> cs.getCohort().toBuilder().index(cohorts.size()).build()))
+                        .teacher(cs.getTeacher() == null ? null : teachers.computeIfAbsent(cs.getTeacher().getId(),
+                                teacherId -> cs.getTeacher().toBuilder().index(teachers.size()).build()))
+                        .subject(cs.getSubject() == null ? null : subjects.computeIfAbsent(cs.getSubject().getId(),
+                                subjectId -> cs.getSubject().toBuilder().index(subjects.size()).build()))
+                        .build()));
+            }
+            if (lesson.getTimeslot() != null) {
+                lesson.setTimeslot(timeslots.get(lesson.getTimeslot().getId()));
+            }
+            if (lesson.getRoom() != null) {
+                lesson.setRoom(rooms.get(lesson.getRoom().getId()));
+            }
+        }
+
+        problem.setAvailableTimeslots(new ArrayList<>(timeslots.values()));
+        problem.setAvailableRooms(new ArrayList<>(rooms.values()));
+        return LessonValueRanges.assign(problem);
     }
 
     // ========================================
     // ENTITY → INFO CONVERSIONS
     // ========================================
 
-    public CohortSubjectInfo toCohortSubjectInfo(CohortSubject cs) {
-        return CohortSubjectInfo.builder()
-                .id(cs.getId())
-                .cohort(toCohortInfo(cs.getCohort()))
-                .subject(toSubjectInfo(cs.getSubject()))
-                .teacher(toTeacherInfo(cs.getAssignedTeacher()))
-                .lessonBlocksPerWeek(cs.getLessonBlocksPerWeek())
-                .build();
-    }
+    /**
+     * Problem facts of one planning problem. Each cohort, teacher and subject
+     * becomes a single shared instance, and every fact gets its dense index
+     * (position in the problem) used by the constraints for joins and lookups.
+     */
+    private static final class ProblemFacts {
+
+        private final Map<Long, TimeslotInfo> timeslots = new LinkedHashMap<>();
+        private final Map<Long, RoomInfo> rooms = new LinkedHashMap<>();
+        private final Map<Long, CohortInfo> cohorts = new HashMap<>();
+        private final Map<Long, TeacherInfo> teachers = new HashMap<>();
+        private final Map<Long, SubjectInfo> subjects = new HashMap<>();
+
+        List<TimeslotInfo> timeslots(List<Timeslot> entities) {
+            for (Timeslot timeslot : entities) {
+                timeslots.put(timeslot.getId(), TimeslotInfo.builder()
+                        .id(timeslot.getId())
+                        .index(timeslots.size())
+                        .dayOfWeek(timeslot.getDayOfWeek())
+                        .startTime(timeslot.getStartTime())
+                        .endTime(timeslot.getEndTime())
+                        .build());
+            }
 
-    private CohortInfo toCohortInfo(Cohort cohort) {
-        return CohortInfo.builder()
-                .id(cohort.getId())
-                .displayName(cohort.getDisplayName())
-                .studentCount(cohort.getStudentCount())
-                .courseId(cohort.getCourse().getId())
-                .year(cohort.getYear())
-                .section(cohort.getSection())
-                .build();
-    }
+            List<TimeslotInfo> linked = TimetableRules.withConsecutiveTable(new ArrayList<>(timeslots.values()));
+            linked.forEach(timeslot -> timeslots.put(timeslot.getId(), timeslot));
+            return linked;
+        }
 
-    private SubjectInfo toSubjectInfo(Subject subject) {
-        return SubjectInfo.builder()
-                .id(subject.getId())
-                .name(subject.getName())
-                .credits(subject.getCredits())
-                .targetYear(subject.getTargetYear())
-                .targetSemester(subject.getTargetSemester())
-                .fixedDaySession(subject.isFixedDaySession()) // ← NOVO
-                .build();
-    }
+        List<RoomInfo> rooms(List<Room> entities) {
+            for (Room room : entities) {
+                Map<TimePeriod, Set<Long>> restrictionsMap = new HashMap<>();
+
+                if (room.getRestrictions() != null && !room.getRestrictions().isEmpty()) {
+                    for (RoomCourseRestriction restriction : room.getRestrictions()) {
+                        restrictionsMap
+                                .computeIfAbsent(restriction.getPeriod(), k -> new HashSet<>())
+                                .add(restriction.getCourse().getId());
+                    }
+                }
+
+                rooms.put(room.getId(), RoomInfo.builder()
+                        .id(room.getId())
+                        .index(rooms.size())
+                        .name(room.getName())
+                        .capacity(room.getCapacity())
+                        .allowedCoursesByPeriod(restrictionsMap)
+                        .build());
+            }
+            return new ArrayList<>(rooms.values());
+        }
 
-    private TeacherInfo toTeacherInfo(com.timetable.timetable.domain.user.entity.ApplicationUser teacher) {
-        return TeacherInfo.builder()
-                .id(teacher.getId())
-                .name(teacher.getUsername())
-                .fullName(teacher.getUsername())
-                .email(teacher.getEmail())
-                .simulationTeam(teacher.isSimulationTeam())
-                .build();
-    }
+        TimeslotInfo timeslot(Long id) {
+            return timeslots.get(id);
+        }
 
-    private TimeslotInfo toTimeslotInfo(Timeslot timeslot) {
-        return TimeslotInfo.builder()
-                .id(timeslot.getId())
-                .dayOfWeek(timeslot.getDayOfWeek())
-                .startTime(timeslot.getStartTime())
-                .endTime(timeslot.getEndTime())
-                .build();
-    }
+        RoomInfo room(Long id) {
+            return rooms.get(id);
+        }
 
-    private RoomInfo toRoomInfo(Room room) {
-        Map<TimePeriod, Set<Long>> restrictionsMap = new HashMap<>();
+        CohortSubjectInfo cohortSubject(CohortSubject cs) {
+            return CohortSubjectInfo.builder()
+                    .id(cs.getId())
+                    .cohort(cohort(cs.getCohort()))
+                    .subject(subject(cs.getSubject()))
+                    .teacher(teacher(cs.getAssignedTeacher()))
+                    .lessonBlocksPerWeek(cs.getLessonBlocksPerWeek())
+                    .build();
+        }
 
-        if (room.getRestrictions() != null && !room.getRestrictions().isEmpty()) {
-            for (RoomCourseRestriction restriction : room.getRestrictions()) {
-                restrictionsMap
-                        .computeIfAbsent(restriction.getPeriod(), k -> new HashSet<>())
-                        .add(restriction.getCourse().getId());
-            }
+        private CohortInfo cohort(Cohort cohort) {
+            return cohorts.computeIfAbsent(cohort.getId(), id -> CohortInfo.builder()
+                    .id(id)
+                    .index(cohorts.size())
+                    .displayName(cohort.getDisplayName())
+                    .studentCount(cohort.getStudentCount())
+                    .courseId(cohort.getCourse().getId())
+                    .year(cohort.getYear())
+                    .section(cohort.getSection())
+                    .build());
         }
 
-        return RoomInfo.builder()
-                .id(room.getId())
-                .name(room.getName())
-                .capacity(room.getCapacity())
-                .allowedCoursesByPeriod(restrictionsMap.isEmpty() ? null : restrictionsMap)
-                .build();
+        private SubjectInfo subject(Subject subject) {
+            return subjects.computeIfAbsent(subject.getId(), id -> SubjectInfo.builder()
+                    .id(id)
+                    .index(subjects.size())
+                    .name(subject.getName())
+                    .credits(subject.getCredits())
+                    .targetYear(subject.getTargetYear())
+                    .targetSemester(subject.getTargetSemester())
+                    .fixedDaySession(subject.isFixedDaySession())
+                    .build());
+        }
+
+        private TeacherInfo teacher(com.timetable.timetable.domain.user.entity.ApplicationUser teacher) {
+            return teachers.computeIfAbsent(teacher.getId(), id -> TeacherInfo.builder()
+                    .id(id)
+                    .index(teachers.size())
+                    .name(teacher.getUsername())
+                    .fullName(teacher.getUsername())
+                    .email(teacher.getEmail())
+                    .simulationTeam(teacher.isSimulationTeam())
+                    .build());
+        }
     }
 }
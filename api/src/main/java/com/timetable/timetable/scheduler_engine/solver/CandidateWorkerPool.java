@@ -0,0 +1,117 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.timetable.timetable.config.SchedulerProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded worker pool for the permutation candidate loops.
+ *
+ * Candidates are split into contiguous chunks, one per worker; the request
+ * thread evaluates the first chunk itself, so a saturated pool slows requests
+ * down instead of blocking them. Results are merged in the original order.
+ *
+ * The evaluation function must only read shared state — it runs on several
+ * threads against the same {@link WorkingSolution}.
+ */
+@Component
+@Slf4j
+public class CandidateWorkerPool {
+
+    private final boolean enabled;
+    private final int threads;
+    private final int minCandidates;
+    private final ExecutorService executor;
+
+    public CandidateWorkerPool(SchedulerProperties properties) {
+        SchedulerProperties.Parallel parallel = properties.getPermutation().getParallel();
+        this.threads = parallel.getThreads() > 0
+                ? parallel.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        this.enabled = parallel.isEnabled() && threads > 1;
+        this.minCandidates = parallel.getMinCandidates();
+        this.executor = enabled ? Executors.newFixedThreadPool(threads, workerThreadFactory()) : null;
+        log.info("Permutation candidate evaluation: {}", enabled ? threads + " worker threads" : "sequential");
+    }
+
+    /**
+     * Applies {@code evaluation} to every candidate and returns the non-null
+     * results in candidate order.
+     */
+    public <T, R> List<R> evaluate(List<T> candidates, Function<T, R> evaluation) {
+        if (!enabled || candidates.size() < minCandidates) {
+            return evaluateChunk(candidates, evaluation);
+        }
+
+        int chunkCount = Math.min(threads, candidates.size());
+        int chunkSize = (candidates.size() + chunkCount - 1) / chunkCount;
+
+        List<Future<List<R>>> futures = new ArrayList<>();
+        for (int from = chunkSize; from < candidates.size(); from += chunkSize) {
+            List<T> chunk = candidates.subList(from, Math.min(from + chunkSize, candidates.size()));
+            futures.add(executor.submit(() -> evaluateChunk(chunk, evaluation)));
+        }
+
+        List<R> results = new ArrayList<>(evaluateChunk(candidates.subList(0, chunkSize), evaluation));
+        for (Future<List<R>> future : futures) {
+            results.addAll(await(future, futures));
+        }
+        return results;
+    }
+
+    private static <T, R> List<R> evaluateChunk(List<T> chunk, Function<T, R> evaluation) {
+        List<R> results = new ArrayList<>();
+        for (T candidate : chunk) {
+            R result = evaluation.apply(candidate);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private static <R> List<R> await(Future<List<R>> future, List<Future<List<R>>> all) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            all.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Candidate evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            all.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Candidate evaluation failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "permutation-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
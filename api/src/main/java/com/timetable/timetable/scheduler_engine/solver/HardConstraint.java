@@ -0,0 +1,26 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+/**
+ * The hard constraints evaluated by {@link MoveEvaluator}.
+ * Names match the ones registered in {@link TimetableConstraintProvider}.
+ */
+public enum HardConstraint {
+    TEACHER_CONFLICT("Teacher conflict"),
+    ROOM_CONFLICT("Room conflict"),
+    COHORT_CONFLICT("Cohort conflict"),
+    ROOM_CAPACITY("Insufficient room capacity"),
+    ROOM_COURSE_RESTRICTION("Room course restriction violated"),
+    YEAR_PERIOD_RESTRICTION("year-period restriction violation"),
+    SAME_SUBJECT_CONSECUTIVE("Same subject consecutive lessons same day"),
+    MASS_BLOCKED_TIMESLOT("Mass timeslot blocked on Friday");
+
+    private final String constraintName;
+
+    HardConstraint(String constraintName) {
+        this.constraintName = constraintName;
+    }
+
+    public String constraintName() {
+        return constraintName;
+    }
+}
@@ -0,0 +1,93 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+
+/**
+ * Precomputes the value ranges of each lesson from the rules that only
+ * depend on the lesson itself, so the solver never tries a value that is
+ * always infeasible:
+ * - timeslots: the cohort's period (HC6), minus the Friday mass slots (HC8);
+ * - rooms: enough capacity for the cohort (HC4) and open to its course in
+ * that period (HC5).
+ *
+ * Ranges depend only on the cohort, so lessons of the same cohort share the
+ * same lists. A range that would be empty falls back to every value (the
+ * lesson is penalized wherever it goes), as do fixed lessons and lessons
+ * without cohort. Partitions (ProblemPartitioner) keep these ranges: they
+ * are a subset of the period's timeslots and rooms.
+ */
+public final class LessonValueRanges {
+
+    private LessonValueRanges() {
+    }
+
+    /**
+     * Sets the value ranges of every lesson, from the problem's timeslots and
+     * rooms. Must run again whenever those fact instances are replaced.
+     */
+    public static TimetableSolution assign(TimetableSolution problem) {
+        List<TimeslotInfo> allTimeslots = List.copyOf(problem.getAvailableTimeslots());
+        List<RoomInfo> allRooms = List.copyOf(problem.getAvailableRooms());
+
+        Map<Long, List<TimeslotInfo>> timeslotsByCohort = new HashMap<>();
+        Map<Long, List<RoomInfo>> roomsByCohort = new HashMap<>();
+
+        for (LessonAssignment lesson : problem.getLessonAssignments()) {
+            CohortInfo cohort = lesson.getCohort();
+            if (lesson.isFixed() || cohort == null) {
+                lesson.setTimeslotRange(allTimeslots);
+                lesson.setRoomRange(allRooms);
+                continue;
+            }
+
+            List<TimeslotInfo> timeslots = timeslotsByCohort.computeIfAbsent(cohort.getId(),
+                    id -> timeslotsFor(cohort, allTimeslots));
+            lesson.setTimeslotRange(timeslots);
+            lesson.setRoomRange(roomsByCohort.computeIfAbsent(cohort.getId(),
+                    id -> roomsFor(cohort, timeslots, allRooms)));
+        }
+        return problem;
+    }
+
+    private static List<TimeslotInfo> timeslotsFor(CohortInfo cohort, List<TimeslotInfo> timeslots) {
+        List<TimeslotInfo> allowed = timeslots.stream()
+                .filter(timeslot -> timeslot.getPeriod() != null
+                        && TimetableRules.isPeriodAllowedForYear(cohort.getYear(), timeslot.getPeriod()))
+                .filter(timeslot -> !TimetableRules.isMassBlocked(timeslot))
+                .toList();
+        return allowed.isEmpty() ? timeslots : allowed;
+    }
+
+    /**
+     * Rooms with enough capacity that the course may use in at least one
+     * period of the cohort's timeslots (HC6 leaves a single one).
+     */
+    private static List<RoomInfo> roomsFor(CohortInfo cohort, List<TimeslotInfo> timeslots, List<RoomInfo> rooms) {
+        int[] periodOrdinals = timeslots.stream()
+                .mapToInt(TimeslotInfo::getPeriodOrdinal)
+                .filter(ordinal -> ordinal >= 0)
+                .distinct()
+                .toArray();
+
+        List<RoomInfo> allowed = rooms.stream()
+                .filter(room -> room.hasSufficientCapacity(cohort.getStudentCount()))
+                .filter(room -> {
+                    for (int periodOrdinal : periodOrdinals) {
+                        if (room.isAvailableForCourse(cohort.getCourseId(), periodOrdinal)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                })
+                .toList();
+        return allowed.isEmpty() ? rooms : allowed;
+    }
+}
@@ -0,0 +1,53 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.timetable.timetable.domain.schedule.event.ScheduledClassesChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers which scheduled classes were edited by hand since the solver last
+ * wrote each timetable, so a repair solve can keep them where the coordinator
+ * put them. Kept in memory only: edits made before a restart are not locked.
+ */
+@Component
+@Slf4j
+public class ManualEditTracker {
+
+    private final Map<PeriodKey, Set<Long>> edited = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduledClassesChanged(ScheduledClassesChangedEvent event) {
+        if (event.checkpoint()) {
+            // Só a gravação final do solver substitui as edições manuais
+            return;
+        }
+        PeriodKey key = new PeriodKey(event.academicYear(), event.semester());
+        if (event.isSolverRewrite()) {
+            edited.remove(key);
+            return;
+        }
+        edited.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
+                .addAll(event.editedScheduledClassIds());
+        log.debug("Manual edits on {}.{}: {}", event.academicYear(), event.semester(), event.editedScheduledClassIds());
+    }
+
+    /**
+     * Ids of the scheduled classes edited by hand since the last solver write.
+     * May include ids of classes deleted since.
+     */
+    public Set<Long> editedSinceLastSolve(int academicYear, int semester) {
+        Set<Long> ids = edited.get(new PeriodKey(academicYear, semester));
+        return ids != null ? new HashSet<>(ids) : new HashSet<>();
+    }
+
+    private record PeriodKey(int academicYear, int semester) {
+    }
+}
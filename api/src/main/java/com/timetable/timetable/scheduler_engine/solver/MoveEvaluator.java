@@ -0,0 +1,259 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.SubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TeacherInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+
+/**
+ * Evaluates candidate moves on an assigned timetable as a delta against the
+ * current score, without recomputing the whole solution.
+ *
+ * The lessons are indexed once by (teacher, timeslot), (room, timeslot),
+ * (cohort, timeslot) and (cohort, subject). A move only looks at the lessons
+ * that share one of those keys with the lessons it changes, so its cost does
+ * not grow with the size of the timetable.
+ *
+ * The evaluator never mutates the lessons it was built from: a move is a map
+ * of lesson → new placement, and the index reflects the state at build time.
+ */
+public final class MoveEvaluator {
+
+    private static final int CONSTRAINT_COUNT = HardConstraint.values().length;
+
+    private final Map<Key, List<LessonAssignment>> byTeacherAndTimeslot = new HashMap<>();
+    private final Map<Key, List<LessonAssignment>> byRoomAndTimeslot = new HashMap<>();
+    private final Map<Key, List<LessonAssignment>> byCohortAndTimeslot = new HashMap<>();
+    private final Map<Key, List<LessonAssignment>> byCohortAndSubject = new HashMap<>();
+
+    public MoveEvaluator(List<LessonAssignment> lessons) {
+        for (LessonAssignment lesson : lessons) {
+            CohortInfo cohort = lesson.getCohort();
+            SubjectInfo subject = lesson.getSubject();
+            if (cohort != null && subject != null) {
+                index(byCohortAndSubject, cohort.getId(), subject.getId(), lesson);
+            }
+
+            if (!lesson.isAssigned()) {
+                continue;
+            }
+
+            Long timeslotId = lesson.getTimeslot().getId();
+            TeacherInfo teacher = lesson.getTeacher();
+            if (teacher != null) {
+                index(byTeacherAndTimeslot, teacher.getId(), timeslotId, lesson);
+            }
+            index(byRoomAndTimeslot, lesson.getRoom().getId(), timeslotId, lesson);
+            if (cohort != null) {
+                index(byCohortAndTimeslot, cohort.getId(), timeslotId, lesson);
+            }
+        }
+    }
+
+    /**
+     * Target placement of a lesson in a move.
+     */
+    public record Placement(TimeslotInfo timeslot, RoomInfo room) {
+
+        public static Placement of(LessonAssignment lesson) {
+            return new Placement(lesson.getTimeslot(), lesson.getRoom());
+        }
+    }
+
+    /**
+     * Number of violations per {@link HardConstraint} among the matches that
+     * involve the moved lessons, before and after the move.
+     */
+    public record ScoreDelta(int[] before, int[] after) {
+
+        public int hardDelta() {
+            int delta = 0;
+            for (int i = 0; i < CONSTRAINT_COUNT; i++) {
+                delta -= after[i] - before[i];
+            }
+            return delta;
+        }
+
+        public int violationDelta(HardConstraint constraint) {
+            return after[constraint.ordinal()] - before[constraint.ordinal()];
+        }
+
+        /**
+         * Constraints still violated by the moved lessons after the move.
+         */
+        public List<HardConstraint> violatedAfter() {
+            List<HardConstraint> violated = new ArrayList<>();
+            for (HardConstraint constraint : HardConstraint.values()) {
+                if (after[constraint.ordinal()] > 0) {
+                    violated.add(constraint);
+                }
+            }
+            return violated;
+        }
+    }
+
+    /**
+     * Computes the hard score delta of moving every lesson in {@code changes}
+     * to its new placement at the same time.
+     *
+     * @param changes lessons to move; lessons not in the map stay where they are
+     */
+    public ScoreDelta evaluate(Map<LessonAssignment, Placement> changes) {
+        int[] before = new int[CONSTRAINT_COUNT];
+        int[] after = new int[CONSTRAINT_COUNT];
+
+        List<Map.Entry<LessonAssignment, Placement>> moved = new ArrayList<>(changes.entrySet());
+
+        for (Map.Entry<LessonAssignment, Placement> entry : moved) {
+            LessonAssignment lesson = entry.getKey();
+            Placement target = entry.getValue();
+
+            countSingle(lesson, lesson.getTimeslot(), lesson.getRoom(), before);
+            countSingle(lesson, target.timeslot(), target.room(), after);
+
+            countPairsWithUnmoved(lesson, lesson.getTimeslot(), lesson.getRoom(), changes, before);
+            countPairsWithUnmoved(lesson, target.timeslot(), target.room(), changes, after);
+        }
+
+        // Pairs where both lessons move are only counted once, with both placements known
+        for (int i = 0; i < moved.size(); i++) {
+            LessonAssignment a = moved.get(i).getKey();
+            Placement aTarget = moved.get(i).getValue();
+            for (int j = i + 1; j < moved.size(); j++) {
+                LessonAssignment b = moved.get(j).getKey();
+                Placement bTarget = moved.get(j).getValue();
+
+                countPair(a, a.getTimeslot(), a.getRoom(), b, b.getTimeslot(), b.getRoom(), before);
+                countPair(a, aTarget.timeslot(), aTarget.room(), b, bTarget.timeslot(), bTarget.room(), after);
+            }
+        }
+
+        return new ScoreDelta(before, after);
+    }
+
+    // ========================================
+    // SINGLE-LESSON CONSTRAINTS (HC4, HC5, HC6, HC8)
+    // ========================================
+
+    private void countSingle(LessonAssignment lesson, TimeslotInfo timeslot, RoomInfo room, int[] counts) {
+        if (timeslot == null || room == null) {
+            return;
+        }
+
+        CohortInfo cohort = lesson.getCohort();
+
+        if (cohort != null && !room.hasSufficientCapacity(lesson.getStudentCount())) {
+            counts[HardConstraint.ROOM_CAPACITY.ordinal()]++;
+        }
+        if (cohort != null && !room.isAvailableForCourse(cohort.getCourseId(), timeslot.getPeriodOrdinal())) {
+            counts[HardConstraint.ROOM_COURSE_RESTRICTION.ordinal()]++;
+        }
+        if (cohort != null && !TimetableRules.isPeriodAllowedForYear(cohort.getYear(), timeslot.getPeriod())) {
+            counts[HardConstraint.YEAR_PERIOD_RESTRICTION.ordinal()]++;
+        }
+        if (TimetableRules.isMassBlocked(timeslot)) {
+            counts[HardConstraint.MASS_BLOCKED_TIMESLOT.ordinal()]++;
+        }
+    }
+
+    // ========================================
+    // PAIR CONSTRAINTS (HC1, HC2, HC3, HC7)
+    // ========================================
+
+    private void countPairsWithUnmoved(LessonAssignment lesson, TimeslotInfo timeslot, RoomInfo room,
+            Map<LessonAssignment, Placement> changes, int[] counts) {
+        if (timeslot == null || room == null) {
+            return;
+        }
+
+        TeacherInfo teacher = lesson.getTeacher();
+        CohortInfo cohort = lesson.getCohort();
+        SubjectInfo subject = lesson.getSubject();
+
+        if (teacher != null && !lesson.isSimulationTeam()) {
+            counts[HardConstraint.TEACHER_CONFLICT.ordinal()] += countUnmoved(
+                    byTeacherAndTimeslot, teacher.getId(), timeslot.getId(), lesson, changes);
+        }
+
+        counts[HardConstraint.ROOM_CONFLICT.ordinal()] += countUnmoved(
+                byRoomAndTimeslot, room.getId(), timeslot.getId(), lesson, changes);
+
+        if (cohort == null) {
+            return;
+        }
+
+        counts[HardConstraint.COHORT_CONFLICT.ordinal()] += countUnmoved(
+                byCohortAndTimeslot, cohort.getId(), timeslot.getId(), lesson, changes);
+
+        if (subject == null || lesson.isFixedDaySession()) {
+            return;
+        }
+
+        for (LessonAssignment other : byCohortAndSubject.getOrDefault(
+                new Key(cohort.getId(), subject.getId()), List.of())) {
+            if (other == lesson || changes.containsKey(other) || !other.isAssigned()) {
+                continue;
+            }
+            if (TimetableRules.areConsecutive(timeslot, other.getTimeslot())) {
+                counts[HardConstraint.SAME_SUBJECT_CONSECUTIVE.ordinal()]++;
+            }
+        }
+    }
+
+    private void countPair(LessonAssignment a, TimeslotInfo aTimeslot, RoomInfo aRoom,
+            LessonAssignment b, TimeslotInfo bTimeslot, RoomInfo bRoom, int[] counts) {
+        if (aTimeslot == null || aRoom == null || bTimeslot == null || bRoom == null) {
+            return;
+        }
+
+        boolean sameTimeslot = aTimeslot.equals(bTimeslot);
+        CohortInfo cohort = a.getCohort();
+
+        if (sameTimeslot) {
+            TeacherInfo teacher = a.getTeacher();
+            if (teacher != null && teacher.equals(b.getTeacher()) && !a.isSimulationTeam()) {
+                counts[HardConstraint.TEACHER_CONFLICT.ordinal()]++;
+            }
+            if (aRoom.equals(bRoom)) {
+                counts[HardConstraint.ROOM_CONFLICT.ordinal()]++;
+            }
+            if (cohort != null && cohort.equals(b.getCohort())) {
+                counts[HardConstraint.COHORT_CONFLICT.ordinal()]++;
+            }
+        }
+
+        SubjectInfo subject = a.getSubject();
+        if (cohort != null && cohort.equals(b.getCohort())
+                && subject != null && subject.equals(b.getSubject())
+                && !a.isFixedDaySession()
+                && TimetableRules.areConsecutive(aTimeslot, bTimeslot)) {
+            counts[HardConstraint.SAME_SUBJECT_CONSECUTIVE.ordinal()]++;
+        }
+    }
+
+    private static int countUnmoved(Map<Key, List<LessonAssignment>> index, Long resourceId, Long timeslotId,
+            LessonAssignment lesson, Map<LessonAssignment, Placement> changes) {
+        int count = 0;
+        for (LessonAssignment other : index.getOrDefault(new Key(resourceId, timeslotId), List.of())) {
+            if (other != lesson && !changes.containsKey(other)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void index(Map<Key, List<LessonAssignment>> index, Long first, Long second,
+            LessonAssignment lesson) {
+        index.computeIfAbsent(new Key(first, second), k -> new ArrayList<>()).add(lesson);
+    }
+
+    private record Key(Long first, Long second) {
+    }
+}
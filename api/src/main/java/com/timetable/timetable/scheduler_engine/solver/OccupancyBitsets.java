@@ -0,0 +1,86 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+
+/**
+ * Per-period occupancy of teachers, cohorts and rooms, one bit per timeslot,
+ * plus the timeslots each year parity may use (HC6).
+ *
+ * A bit only says that some assigned lesson holds the resource in that
+ * timeslot, not which one or how many, so callers must discount the lessons
+ * their move takes out of the slot before treating a set bit as a conflict.
+ */
+final class OccupancyBitsets {
+
+    private final Map<Long, Integer> timeslotIndex = new HashMap<>();
+    private final Map<Long, BitSet> byTeacher = new HashMap<>();
+    private final Map<Long, BitSet> byCohort = new HashMap<>();
+    private final Map<Long, BitSet> byRoom = new HashMap<>();
+    private final BitSet allowedForOddYears = new BitSet();
+    private final BitSet allowedForEvenYears = new BitSet();
+
+    OccupancyBitsets(List<TimeslotInfo> timeslots, List<LessonAssignment> lessons) {
+        for (TimeslotInfo timeslot : timeslots) {
+            int index = timeslotIndex.size();
+            timeslotIndex.put(timeslot.getId(), index);
+
+            TimePeriod period = timeslot.getPeriod();
+            allowedForOddYears.set(index, TimetableRules.isPeriodAllowedForYear(1, period));
+            allowedForEvenYears.set(index, TimetableRules.isPeriodAllowedForYear(2, period));
+        }
+
+        for (LessonAssignment lesson : lessons) {
+            if (!lesson.isAssigned()) {
+                continue;
+            }
+            Integer index = timeslotIndex.get(lesson.getTimeslot().getId());
+            if (index == null) {
+                continue;
+            }
+            if (lesson.getTeacher() != null) {
+                byTeacher.computeIfAbsent(lesson.getTeacher().getId(), id -> new BitSet()).set(index);
+            }
+            if (lesson.getCohort() != null) {
+                byCohort.computeIfAbsent(lesson.getCohort().getId(), id -> new BitSet()).set(index);
+            }
+            byRoom.computeIfAbsent(lesson.getRoom().getId(), id -> new BitSet()).set(index);
+        }
+    }
+
+    boolean isTeacherBusy(Long teacherId, TimeslotInfo timeslot) {
+        return isSet(byTeacher, teacherId, timeslot);
+    }
+
+    boolean isCohortBusy(Long cohortId, TimeslotInfo timeslot) {
+        return isSet(byCohort, cohortId, timeslot);
+    }
+
+    boolean isRoomBusy(Long roomId, TimeslotInfo timeslot) {
+        return isSet(byRoom, roomId, timeslot);
+    }
+
+    /**
+     * HC6 as a bit test. Unknown timeslots are reported as allowed, leaving the
+     * decision to the full evaluation.
+     */
+    boolean isAllowedForYear(int year, TimeslotInfo timeslot) {
+        Integer index = timeslotIndex.get(timeslot.getId());
+        if (index == null) {
+            return true;
+        }
+        return year % 2 != 0 ? allowedForOddYears.get(index) : allowedForEvenYears.get(index);
+    }
+
+    private boolean isSet(Map<Long, BitSet> occupancy, Long resourceId, TimeslotInfo timeslot) {
+        BitSet slots = occupancy.get(resourceId);
+        Integer index = timeslotIndex.get(timeslot.getId());
+        return slots != null && index != null && slots.get(index);
+    }
+}
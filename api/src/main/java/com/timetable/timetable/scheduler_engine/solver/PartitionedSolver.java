@@ -0,0 +1,106 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.stereotype.Service;
+
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+
+/**
+ * Solves the independent partitions of a problem (see {@link ProblemPartitioner})
+ * concurrently on the partition SolverManager and merges them back. The merged
+ * solution is meant to be polished by a short solve over the whole problem.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionedSolver {
+
+    private final SolverManager<TimetableSolution, UUID> partitionSolverManager;
+
+    // Partições em curso por job, para o terminateEarly
+    private final Map<UUID, Run> runs = new ConcurrentHashMap<>();
+
+    public record Result(TimetableSolution solution, boolean terminatedEarly) {
+    }
+
+    /**
+     * Blocks until every partition is solved.
+     */
+    public Result solve(UUID jobId, TimetableSolution problem) throws InterruptedException, ExecutionException {
+        ProblemPartitioner.Partitioning partitioning = ProblemPartitioner.partition(problem);
+        log.info("Job {}: {} lessons split into {} partitions {}", jobId, problem.getTotalLessons(),
+                partitioning.partitions().size(),
+                partitioning.partitions().stream().map(TimetableSolution::getTotalLessons).toList());
+
+        Run run = new Run();
+        runs.put(jobId, run);
+        try {
+            for (TimetableSolution partition : partitioning.partitions()) {
+                run.submit(partitionSolverManager.solveBuilder()
+                        .withProblemId(UUID.randomUUID())
+                        .withProblem(partition)
+                        .run());
+            }
+
+            List<TimetableSolution> solved = new ArrayList<>();
+            for (SolverJob<TimetableSolution, UUID> solverJob : run.solverJobs()) {
+                TimetableSolution best = solverJob.getFinalBestSolution();
+                log.debug("Job {}: partition {} done with score {}", jobId, solverJob.getProblemId(), best.getScore());
+                solved.add(best);
+            }
+
+            return new Result(ProblemPartitioner.merge(problem, partitioning, solved), run.isTerminated());
+        } finally {
+            runs.remove(jobId);
+        }
+    }
+
+    /**
+     * Stops the partitions of a job, if it is still solving them. Returns false otherwise.
+     */
+    public boolean terminateEarly(UUID jobId) {
+        Run run = runs.get(jobId);
+        if (run == null) {
+            return false;
+        }
+        run.terminate();
+        return true;
+    }
+
+    private static final class Run {
+
+        private final List<SolverJob<TimetableSolution, UUID>> solverJobs = new ArrayList<>();
+        private boolean terminated;
+
+        synchronized void submit(SolverJob<TimetableSolution, UUID> solverJob) {
+            solverJobs.add(solverJob);
+            if (terminated) {
+                solverJob.terminateEarly();
+            }
+        }
+
+        synchronized void terminate() {
+            terminated = true;
+            solverJobs.forEach(SolverJob::terminateEarly);
+        }
+
+        synchronized boolean isTerminated() {
+            return terminated;
+        }
+
+        synchronized List<SolverJob<TimetableSolution, UUID>> solverJobs() {
+            return new ArrayList<>(solverJobs);
+        }
+    }
+}
@@ -48,6 +48,22 @@ public class PermutationController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Body: { "academicYear": 2025, "semester": 1, "moves": [
+     *   { "type": "MOVE", "scheduledClassId": 42, "targetTimeslotId": 7, "targetRoomId": 3, "swapWithId": 55 },
+     *   { "type": "COHORT_SWAP", "scheduledClassId": 42, "swapWithId": 61 } ] }
+     * Nothing is persisted.
+     */
+    @PostMapping("/evaluate")
+    public ResponseEntity<PermutationService.WhatIfResponse> evaluateMoves(
+            @RequestBody EvaluateMovesRequest request) {
+        return ResponseEntity.ok(permutationService.evaluateMoves(
+                request.academicYear(), request.semester(), request.moves()));
+    }
+
+    record EvaluateMovesRequest(int academicYear, int semester, List<PermutationService.ProposedMove> moves) {
+    }
+
     record CohortSwapCandidatesRequest(Long scheduledClassId, int academicYear, int semester) {
     }
 
@@ -3,22 +3,28 @@ package com.timetable.timetable.scheduler_engine.solver;
 import com.timetable.timetable.domain.schedule.entity.Room;
 import com.timetable.timetable.domain.schedule.entity.ScheduledClass;
 import com.timetable.timetable.domain.schedule.entity.Timeslot;
+import com.timetable.timetable.domain.schedule.entity.Timetable;
+import com.timetable.timetable.domain.schedule.event.ScheduledClassesChangedEvent;
 import com.timetable.timetable.domain.schedule.repository.ScheduledClassRepository;
 import com.timetable.timetable.domain.schedule.repository.TimeslotRepository;
 import com.timetable.timetable.domain.schedule.repository.RoomRepository;
 import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
 import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortInfo;
 import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TeacherInfo;
 import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
 import com.timetable.timetable.scheduler_engine.mapper.TimetableSolutionMapper;
 import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
 import ai.timefold.solver.core.api.solver.SolutionManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -33,43 +39,18 @@ public class PermutationService {
     private final RoomRepository roomRepository;
     private final TimetableSolutionMapper solutionMapper;
     private final SolutionManager<TimetableSolution, HardSoftScore> solutionManager;
+    private final WorkingSolutionCache workingSolutionCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CandidateWorkerPool workerPool;
 
     @Transactional(readOnly = true)
     public List<ValidSlotResponse> findValidSlots(
             Long scheduledClassId, int academicYear, int semester) {
 
-        List<ScheduledClass> allClasses = scheduledClassRepository
-                .findAllWithDetailsByPeriod(academicYear, semester);
-
-        if (allClasses.isEmpty()) {
-            throw new IllegalStateException(
-                    "No persisted timetable for %d.%d".formatted(academicYear, semester));
-        }
-
-        ScheduledClass target = allClasses.stream()
-                .filter(sc -> sc.getId().equals(scheduledClassId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "ScheduledClass not found: " + scheduledClassId));
-
-        Long targetCohortId = target.getCohort().getId();
-
-        TimetableSolution solution = solutionMapper.fromScheduledClasses(
-                allClasses,
-                timeslotRepository.findAll(),
-                roomRepository.findAll(),
-                academicYear, semester);
-
-        // ── DIAGNOSTIC: log the initial score of the rebuilt solution ──────────
-        // If this is not 0hard/0soft, the solution mapper is not rebuilding correctly
-        solutionManager.update(solution);
-        HardSoftScore initialScore = solution.getScore();
-        log.info("[DIAG] Initial score of rebuilt solution: {}", initialScore);
-        if (initialScore != null && initialScore.hardScore() != 0) {
-            log.warn("[DIAG] Rebuilt solution already has hard violations ({})! " +
-                    "Object identity problem in fromScheduledClasses — planning variables " +
-                    "are not the same instances as those in the value range.", initialScore);
-        }
+        WorkingSolution working = workingSolution(academicYear, semester);
+        TimetableSolution solution = working.getSolution();
+        LessonAssignment targetLesson = working.getLesson(scheduledClassId);
+        Long targetCohortId = targetLesson.getCohort().getId();
 
         // ── Key fix ────────────────────────────────────────────────────────────
         // Only consider a timeslot "occupied" if another lesson from a DIFFERENT
@@ -86,89 +67,128 @@ public class PermutationService {
                 .filter(la -> !la.getCohortSubject().getCohort().getId().equals(targetCohortId))
                 .collect(Collectors.groupingBy(la -> la.getTimeslot().getId()));
 
-        LessonAssignment targetLesson = solution.getLessonAssignments().stream()
-                .filter(la -> la.getId().equals(scheduledClassId))
-                .findFirst()
-                .orElseThrow();
-
-        int cohortYear = target.getCohort().getYear();
+        int cohortYear = targetLesson.getCohort().getYear();
         TimeslotInfo originalTimeslot = targetLesson.getTimeslot();
 
         List<TimeslotInfo> candidates = solution.getAvailableTimeslots().stream()
-                .filter(ts -> isCorrectPeriod(ts, cohortYear))
+                .filter(ts -> TimetableRules.isPeriodAllowedForYear(cohortYear, ts.getPeriod()))
                 .filter(ts -> !ts.getId().equals(originalTimeslot.getId()))
                 .toList();
 
         log.info("Evaluating {} candidate slots for ScheduledClass {}", candidates.size(), scheduledClassId);
 
-        List<ValidSlotResponse> valid = new ArrayList<>();
-
-        RoomInfo originalRoom = targetLesson.getRoom();
-
-        for (TimeslotInfo candidate : candidates) {
-            List<LessonAssignment> occupants = occupantsByTimeslotId
-                    .getOrDefault(candidate.getId(), List.of());
-
-            LessonAssignment occupant = occupants.size() == 1 ? occupants.get(0) : null;
-
-            // Testar cada sala disponível
-            for (RoomInfo candidateRoom : solution.getAvailableRooms()) {
-
-                // Verificações rápidas antes de chamar o ScoreManager (performance)
-                if (!candidateRoom.hasSufficientCapacity(targetLesson.getStudentCount()))
-                    continue;
-                if (!candidateRoom.isAvailableForCourse(targetLesson.getCourseId(), candidate.getPeriod()))
-                    continue;
-
-                targetLesson.setTimeslot(candidate);
-                targetLesson.setRoom(candidateRoom);
-                if (occupant != null)
-                    occupant.setTimeslot(originalTimeslot);
-
-                try {
-                    solutionManager.update(solution);
-                    HardSoftScore score = solution.getScore();
-
-                    if (score != null && score.hardScore() == 0) {
-                        if (occupant != null) {
-                            ScheduledClass occupantSc = allClasses.stream()
-                                    .filter(sc -> sc.getId().equals(occupant.getId()))
-                                    .findFirst().orElse(null);
-
-                            valid.add(ValidSlotResponse.swap(
-                                    candidate.getId(),
-                                    candidate.getDayOfWeek().toString(),
-                                    candidate.getStartTime().toString(),
-                                    candidate.getEndTime().toString(),
-                                    occupant.getId(),
-                                    occupantSc != null ? occupantSc.getSubject().getName() : "?",
-                                    occupantSc != null ? occupantSc.getCohort().getDisplayName() : "?",
-                                    candidateRoom.getName(),
-                                    candidateRoom.getId()));
-                        } else {
-                            valid.add(ValidSlotResponse.empty(
-                                    candidate.getId(),
-                                    candidate.getDayOfWeek().toString(),
-                                    candidate.getStartTime().toString(),
-                                    candidate.getEndTime().toString(),
-                                    candidateRoom.getName(),
-                                    candidateRoom.getId()));
-                        }
-                        break; // Primeira sala válida chega — não precisas de mais para o mesmo slot
-                    }
-                } finally {
-                    targetLesson.setTimeslot(originalTimeslot);
-                    targetLesson.setRoom(originalRoom);
-                    if (occupant != null)
-                        occupant.setTimeslot(candidate);
-                }
-            }
-        }
+        // Cada timeslot é avaliado de forma independente — o pool divide-os pelos cores
+        List<ValidSlotResponse> valid = workerPool.evaluate(candidates, candidate -> findFirstValidRoom(
+                working, targetLesson, candidate,
+                occupantsByTimeslotId.getOrDefault(candidate.getId(), List.of())));
 
         log.info("ScheduledClass {} → {}/{} valid permutations", scheduledClassId, valid.size(), candidates.size());
         return valid;
     }
 
+    /**
+     * Returns the first room where the target lesson can move into {@code candidate}
+     * without hard violations, swapping with the slot's only occupant if there is
+     * one, or null when no room works.
+     */
+    private ValidSlotResponse findFirstValidRoom(WorkingSolution working, LessonAssignment targetLesson,
+            TimeslotInfo candidate, List<LessonAssignment> occupants) {
+        MoveEvaluator evaluator = working.getEvaluator();
+        int baselineHard = working.getBaselineHardScore();
+        TimeslotInfo originalTimeslot = targetLesson.getTimeslot();
+        OccupancyBitsets occupancy = working.getOccupancy();
+
+        LessonAssignment occupant = occupants.size() == 1 ? occupants.get(0) : null;
+
+        // Pré-filtro por bitsets: descarta o slot inteiro antes de testar as salas
+        if (clashesInTimeslot(occupancy, targetLesson, candidate, occupant))
+            return null;
+        if (occupant != null
+                && (clashesInTimeslot(occupancy, occupant, originalTimeslot, targetLesson)
+                        || roomClashes(occupancy, occupant.getRoom(), originalTimeslot, targetLesson)))
+            return null;
+
+        // Testar cada sala disponível
+        for (RoomInfo candidateRoom : working.getSolution().getAvailableRooms()) {
+
+            // Verificações rápidas antes de avaliar a jogada (performance)
+            if (!candidateRoom.hasSufficientCapacity(targetLesson.getStudentCount()))
+                continue;
+            if (!candidateRoom.isAvailableForCourse(targetLesson.getCourseId(), candidate.getPeriod()))
+                continue;
+            if (roomClashes(occupancy, candidateRoom, candidate, occupant))
+                continue;
+
+            Map<LessonAssignment, MoveEvaluator.Placement> move = new HashMap<>();
+            move.put(targetLesson, new MoveEvaluator.Placement(candidate, candidateRoom));
+            if (occupant != null)
+                move.put(occupant, new MoveEvaluator.Placement(originalTimeslot, occupant.getRoom()));
+
+            if (baselineHard + evaluator.evaluate(move).hardDelta() != 0)
+                continue;
+
+            // Primeira sala válida chega — não precisas de mais para o mesmo slot
+            if (occupant != null) {
+                return ValidSlotResponse.swap(
+                        candidate.getId(),
+                        candidate.getDayOfWeek().toString(),
+                        candidate.getStartTime().toString(),
+                        candidate.getEndTime().toString(),
+                        occupant.getId(),
+                        occupant.getSubject() != null ? occupant.getSubject().getName() : "?",
+                        occupant.getCohort() != null ? occupant.getCohort().getDisplayName() : "?",
+                        candidateRoom.getName(),
+                        candidateRoom.getId());
+            } else {
+                return ValidSlotResponse.empty(
+                        candidate.getId(),
+                        candidate.getDayOfWeek().toString(),
+                        candidate.getStartTime().toString(),
+                        candidate.getEndTime().toString(),
+                        candidateRoom.getName(),
+                        candidateRoom.getId());
+            }
+        }
+        return null;
+    }
+
+    // ========================================
+    // BITSET PRE-FILTER (HC1, HC2, HC3, HC6)
+    // ========================================
+
+    /**
+     * True when {@code lesson} placed in {@code timeslot} would certainly break
+     * HC1, HC3 or HC6 against lessons that stay there. Resources shared with
+     * {@code leaving} — the lesson moving out of that timeslot — are left to the
+     * full evaluation, since the set bit may be its own.
+     */
+    private static boolean clashesInTimeslot(OccupancyBitsets occupancy, LessonAssignment lesson,
+            TimeslotInfo timeslot, LessonAssignment leaving) {
+        TeacherInfo teacher = lesson.getTeacher();
+        if (teacher != null && !lesson.isSimulationTeam()
+                && (leaving == null || !teacher.equals(leaving.getTeacher()))
+                && occupancy.isTeacherBusy(teacher.getId(), timeslot))
+            return true;
+
+        CohortInfo cohort = lesson.getCohort();
+        if (cohort == null)
+            return false;
+        if ((leaving == null || !cohort.equals(leaving.getCohort()))
+                && occupancy.isCohortBusy(cohort.getId(), timeslot))
+            return true;
+        return !occupancy.isAllowedForYear(cohort.getYear(), timeslot);
+    }
+
+    /**
+     * Same as {@link #clashesInTimeslot} for HC2.
+     */
+    private static boolean roomClashes(OccupancyBitsets occupancy, RoomInfo room, TimeslotInfo timeslot,
+            LessonAssignment leaving) {
+        return room != null
+                && (leaving == null || !room.equals(leaving.getRoom()))
+                && occupancy.isRoomBusy(room.getId(), timeslot);
+    }
+
     @Transactional
     public void applySwap(Long scheduledClassId, Long targetTimeslotId, Long targetRoomId, Long swapWithId) {
         ScheduledClass scX = scheduledClassRepository.findById(scheduledClassId)
@@ -196,15 +216,8 @@ public class PermutationService {
             scX.setRoom(newRoom); // ← sala também muda
             log.info("Move: ScheduledClass {} → Timeslot {} Room {}", scheduledClassId, targetTimeslotId, targetRoomId);
         }
-    }
 
-    private boolean isCorrectPeriod(TimeslotInfo ts, int cohortYear) {
-        boolean isOddYear = cohortYear % 2 != 0;
-        return switch (ts.getPeriod()) {
-            case MORNING -> isOddYear;
-            case AFTERNOON -> !isOddYear;
-            case EVENING -> false;
-        };
+        publishChange(scX.getTimetable(), scheduledClassId, swapWithId);
     }
 
     public record CohortSwapCandidate(
@@ -219,24 +232,12 @@ public class PermutationService {
     public List<CohortSwapCandidate> findCohortSwapCandidates(
             Long scheduledClassId, int academicYear, int semester) {
 
-        List<ScheduledClass> allClasses = scheduledClassRepository
-                .findAllWithDetailsByPeriod(academicYear, semester);
-
-        ScheduledClass target = allClasses.stream()
-                .filter(sc -> sc.getId().equals(scheduledClassId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("ScheduledClass not found: " + scheduledClassId));
-
-        Long targetCohortId = target.getCohort().getId();
-        Long targetSubjectId = target.getSubject().getId();
+        WorkingSolution working = workingSolution(academicYear, semester);
+        TimetableSolution solution = working.getSolution();
+        LessonAssignment targetLesson = working.getLesson(scheduledClassId);
 
-        TimetableSolution solution = solutionMapper.fromScheduledClasses(
-                allClasses, timeslotRepository.findAll(), roomRepository.findAll(),
-                academicYear, semester);
-
-        LessonAssignment targetLesson = solution.getLessonAssignments().stream()
-                .filter(la -> la.getId().equals(scheduledClassId))
-                .findFirst().orElseThrow();
+        Long targetCohortId = targetLesson.getCohort().getId();
+        Long targetSubjectId = targetLesson.getSubject().getId();
 
         // Outras aulas da mesma cohort, disciplina diferente
         List<LessonAssignment> sameCohortOthers = solution.getLessonAssignments().stream()
@@ -248,37 +249,36 @@ public class PermutationService {
         TimeslotInfo originalTimeslotA = targetLesson.getTimeslot();
         RoomInfo originalRoomA = targetLesson.getRoom();
 
-        List<CohortSwapCandidate> valid = new ArrayList<>();
+        int baselineHard = working.getBaselineHardScore();
+        MoveEvaluator evaluator = working.getEvaluator();
+        OccupancyBitsets occupancy = working.getOccupancy();
 
-        for (LessonAssignment candidate : sameCohortOthers) {
+        List<CohortSwapCandidate> valid = workerPool.evaluate(sameCohortOthers, candidate -> {
             TimeslotInfo originalTimeslotB = candidate.getTimeslot();
             RoomInfo originalRoomB = candidate.getRoom();
 
+            if (clashesInTimeslot(occupancy, targetLesson, originalTimeslotB, candidate)
+                    || clashesInTimeslot(occupancy, candidate, originalTimeslotA, targetLesson)
+                    || roomClashes(occupancy, originalRoomA, originalTimeslotB, candidate)
+                    || roomClashes(occupancy, originalRoomB, originalTimeslotA, targetLesson)) {
+                return null;
+            }
+
             // Trocar timeslots (salas ficam iguais — cada aula leva a sua sala)
-            targetLesson.setTimeslot(originalTimeslotB);
-            candidate.setTimeslot(originalTimeslotA);
-
-            try {
-                solutionManager.update(solution);
-                HardSoftScore score = solution.getScore();
-
-                if (score != null && score.hardScore() == 0) {
-                    ScheduledClass candidateSc = allClasses.stream()
-                            .filter(sc -> sc.getId().equals(candidate.getId()))
-                            .findFirst().orElseThrow();
-
-                    valid.add(new CohortSwapCandidate(
-                            candidate.getId(),
-                            candidateSc.getSubject().getName(),
-                            originalTimeslotB.getDayOfWeek().toString(),
-                            originalTimeslotB.getStartTime().toString(),
-                            originalRoomB.getName()));
-                }
-            } finally {
-                targetLesson.setTimeslot(originalTimeslotA);
-                candidate.setTimeslot(originalTimeslotB);
+            Map<LessonAssignment, MoveEvaluator.Placement> swap = new HashMap<>();
+            swap.put(targetLesson, new MoveEvaluator.Placement(originalTimeslotB, originalRoomA));
+            swap.put(candidate, new MoveEvaluator.Placement(originalTimeslotA, originalRoomB));
+
+            if (baselineHard + evaluator.evaluate(swap).hardDelta() != 0) {
+                return null;
             }
-        }
+            return new CohortSwapCandidate(
+                    candidate.getId(),
+                    candidate.getSubject().getName(),
+                    originalTimeslotB.getDayOfWeek().toString(),
+                    originalTimeslotB.getStartTime().toString(),
+                    originalRoomB.getName());
+        });
 
         log.info("ScheduledClass {} → {}/{} valid cohort swaps",
                 scheduledClassId, valid.size(), sameCohortOthers.size());
@@ -298,6 +298,168 @@ public class PermutationService {
         // Salas não mudam — cada aula mantém a sua sala original
 
         log.info("Cohort swap: ScheduledClass {} ↔ ScheduledClass {}", scheduledClassIdA, scheduledClassIdB);
+
+        publishChange(scA.getTimetable(), scheduledClassIdA, scheduledClassIdB);
+    }
+
+    public enum ProposedMoveType {
+        /** Same semantics as /apply: move to a timeslot/room, optionally swapping with swapWithId */
+        MOVE,
+        /** Same semantics as /cohort-swap/apply: swap timeslots with swapWithId, rooms stay */
+        COHORT_SWAP
+    }
+
+    public record ProposedMove(
+            ProposedMoveType type,
+            Long scheduledClassId,
+            Long targetTimeslotId,
+            Long targetRoomId,
+            Long swapWithId) {
+    }
+
+    /**
+     * Score impact of a move. Violated constraints are those still broken by
+     * matches that involve the moved lessons.
+     */
+    public record MoveImpact(
+            int hardImpact,
+            int softImpact,
+            String scoreAfter,
+            boolean feasible,
+            List<String> violatedConstraints) {
+    }
+
+    public record WhatIfResponse(
+            String baselineScore,
+            List<MoveImpact> moves, // cada jogada avaliada isoladamente sobre o horário atual
+            MoveImpact combined) { // todas as jogadas aplicadas em sequência
+    }
+
+    /**
+     * Evaluates a batch of proposed moves against one rebuilt solution, without
+     * persisting anything. Each move is scored on its own against the current
+     * timetable, and the whole list is scored as a sequence where every move
+     * sees the placements left by the previous ones.
+     */
+    @Transactional(readOnly = true)
+    public WhatIfResponse evaluateMoves(int academicYear, int semester, List<ProposedMove> moves) {
+        if (moves == null || moves.isEmpty()) {
+            throw new IllegalArgumentException("At least one move is required");
+        }
+
+        WorkingSolution working = workingSolution(academicYear, semester);
+        MoveEvaluator evaluator = working.getEvaluator();
+        HardSoftScore baseline = working.getBaselineScore() != null
+                ? working.getBaselineScore()
+                : HardSoftScore.ZERO;
+
+        List<MoveImpact> impacts = new ArrayList<>();
+        Map<LessonAssignment, MoveEvaluator.Placement> sequence = new HashMap<>();
+
+        for (ProposedMove move : moves) {
+            Map<LessonAssignment, MoveEvaluator.Placement> isolated = resolveMove(working, move, Map.of());
+            impacts.add(toImpact(baseline, evaluator.evaluate(isolated)));
+
+            sequence.putAll(resolveMove(working, move, sequence));
+        }
+
+        MoveImpact combined = toImpact(baseline, evaluator.evaluate(sequence));
+
+        log.info("What-if {}.{}: {} moves evaluated, combined impact {}hard",
+                academicYear, semester, moves.size(), combined.hardImpact());
+        return new WhatIfResponse(baseline.toString(), impacts, combined);
+    }
+
+    /**
+     * Translates a proposed move into new placements, reading the current
+     * position of each lesson from {@code current} when it was already moved.
+     */
+    private Map<LessonAssignment, MoveEvaluator.Placement> resolveMove(WorkingSolution working,
+            ProposedMove move, Map<LessonAssignment, MoveEvaluator.Placement> current) {
+        if (move.type() == null) {
+            throw new IllegalArgumentException("Move type is required");
+        }
+
+        LessonAssignment lesson = working.getLesson(move.scheduledClassId());
+        MoveEvaluator.Placement lessonAt = current.getOrDefault(lesson, MoveEvaluator.Placement.of(lesson));
+        LessonAssignment other = move.swapWithId() != null ? working.getLesson(move.swapWithId()) : null;
+        MoveEvaluator.Placement otherAt = other != null
+                ? current.getOrDefault(other, MoveEvaluator.Placement.of(other))
+                : null;
+
+        Map<LessonAssignment, MoveEvaluator.Placement> changes = new HashMap<>();
+
+        switch (move.type()) {
+            case MOVE -> {
+                changes.put(lesson, new MoveEvaluator.Placement(
+                        working.getTimeslot(move.targetTimeslotId()),
+                        working.getRoom(move.targetRoomId())));
+                if (other != null) {
+                    // O ocupante vai para o slot original, mantendo a sua sala
+                    changes.put(other, new MoveEvaluator.Placement(lessonAt.timeslot(), otherAt.room()));
+                }
+            }
+            case COHORT_SWAP -> {
+                if (other == null) {
+                    throw new IllegalArgumentException("swapWithId is required for a cohort swap");
+                }
+                changes.put(lesson, new MoveEvaluator.Placement(otherAt.timeslot(), lessonAt.room()));
+                changes.put(other, new MoveEvaluator.Placement(lessonAt.timeslot(), otherAt.room()));
+            }
+        }
+        return changes;
+    }
+
+    private static MoveImpact toImpact(HardSoftScore baseline, MoveEvaluator.ScoreDelta delta) {
+        int hardAfter = baseline.hardScore() + delta.hardDelta();
+        // Não há restrições soft activas — o impacto soft é sempre 0
+        HardSoftScore after = HardSoftScore.of(hardAfter, baseline.softScore());
+
+        return new MoveImpact(
+                delta.hardDelta(),
+                0,
+                after.toString(),
+                hardAfter == 0,
+                delta.violatedAfter().stream().map(HardConstraint::constraintName).toList());
+    }
+
+    private WorkingSolution workingSolution(int academicYear, int semester) {
+        return workingSolutionCache.get(academicYear, semester,
+                () -> loadWorkingSolution(academicYear, semester));
+    }
+
+    private WorkingSolution loadWorkingSolution(int academicYear, int semester) {
+        List<ScheduledClass> allClasses = scheduledClassRepository
+                .findAllWithDetailsByPeriod(academicYear, semester);
+
+        if (allClasses.isEmpty()) {
+            throw new IllegalStateException(
+                    "No persisted timetable for %d.%d".formatted(academicYear, semester));
+        }
+
+        TimetableSolution solution = solutionMapper.fromScheduledClasses(
+                allClasses,
+                timeslotRepository.findAll(),
+                roomRepository.findAll(),
+                academicYear, semester);
+
+        // ── DIAGNOSTIC: log the initial score of the rebuilt solution ──────────
+        // If this is not 0hard/0soft, the solution mapper is not rebuilding correctly
+        HardSoftScore initialScore = solutionManager.update(solution);
+        log.info("[DIAG] Initial score of rebuilt solution: {}", initialScore);
+        if (initialScore != null && initialScore.hardScore() != 0) {
+            log.warn("[DIAG] Rebuilt solution already has hard violations ({})! " +
+                    "Object identity problem in fromScheduledClasses — planning variables " +
+                    "are not the same instances as those in the value range.", initialScore);
+        }
+
+        return new WorkingSolution(solution, initialScore);
+    }
+
+    private void publishChange(Timetable timetable, Long... scheduledClassIds) {
+        if (timetable != null) {
+            eventPublisher.publishEvent(ScheduledClassesChangedEvent.edited(timetable, scheduledClassIds));
+        }
     }
 
     public record ValidSlotResponse(
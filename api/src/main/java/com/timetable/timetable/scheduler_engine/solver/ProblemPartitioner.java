@@ -0,0 +1,201 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+
+/**
+ * Splits a planning problem into sub-problems that share no constraint, so
+ * they can be solved concurrently.
+ *
+ * HC6 puts every cohort in a single period (odd years in the morning, even
+ * years in the afternoon) and no constraint links two periods, so each period
+ * is solved apart, with only its own timeslots. Inside a period, lessons are
+ * grouped with a union-find over what they can share: teacher, cohort and any
+ * room they may use (HC5). Courses only fall apart when their rooms are
+ * course-restricted; one room open to everyone keeps the period whole.
+ *
+ * Pinned lessons join the partition of their period and resources, so the
+ * solver still works around them.
+ */
+public final class ProblemPartitioner {
+
+    private ProblemPartitioner() {
+    }
+
+    /**
+     * Sub-problems to solve, plus the pinned lessons that fell in no partition
+     * (e.g. in a period without lessons to solve) and must be kept as they are.
+     */
+    public record Partitioning(List<TimetableSolution> partitions, List<LessonAssignment> untouched) {
+    }
+
+    public static Partitioning partition(TimetableSolution problem) {
+        List<LessonAssignment> lessons = problem.getLessonAssignments();
+
+        // Sem coorte não há período conhecido — resolve tudo de uma vez
+        boolean classifiable = lessons.stream()
+                .allMatch(lesson -> lesson.isPinned() ? lesson.isAssigned() : lesson.getCohort() != null);
+        if (!classifiable) {
+            return new Partitioning(List.of(problem), List.of());
+        }
+
+        Map<TimePeriod, List<LessonAssignment>> toSolveByPeriod = new EnumMap<>(TimePeriod.class);
+        for (LessonAssignment lesson : lessons) {
+            if (!lesson.isPinned()) {
+                toSolveByPeriod.computeIfAbsent(periodOf(lesson.getCohort().getYear()), p -> new ArrayList<>())
+                        .add(lesson);
+            }
+        }
+
+        List<TimetableSolution> partitions = new ArrayList<>();
+        List<LessonAssignment> untouched = new ArrayList<>();
+
+        Map<TimePeriod, List<LessonAssignment>> pinnedByPeriod = new EnumMap<>(TimePeriod.class);
+        for (LessonAssignment lesson : lessons) {
+            if (!lesson.isPinned()) {
+                continue;
+            }
+            TimePeriod period = lesson.getTimeslot().getPeriod();
+            if (toSolveByPeriod.containsKey(period)) {
+                pinnedByPeriod.computeIfAbsent(period, p -> new ArrayList<>()).add(lesson);
+            } else {
+                untouched.add(lesson);
+            }
+        }
+
+        for (Map.Entry<TimePeriod, List<LessonAssignment>> entry : toSolveByPeriod.entrySet()) {
+            TimePeriod period = entry.getKey();
+            List<TimeslotInfo> timeslots = problem.getAvailableTimeslots().stream()
+                    .filter(timeslot -> timeslot.getPeriod() == period)
+                    .toList();
+
+            List<LessonAssignment> periodLessons = new ArrayList<>(entry.getValue());
+            periodLessons.addAll(pinnedByPeriod.getOrDefault(period, List.of()));
+
+            for (List<LessonAssignment> component : components(periodLessons, problem.getAvailableRooms(), period)) {
+                // Só aulas pinned — nada a resolver
+                if (component.stream().allMatch(LessonAssignment::isPinned)) {
+                    untouched.addAll(component);
+                    continue;
+                }
+                partitions.add(TimetableSolution.builder()
+                        .lessonAssignments(component)
+                        .availableTimeslots(timeslots)
+                        .availableRooms(roomsOf(component, problem.getAvailableRooms(), period))
+                        .academicYear(problem.getAcademicYear())
+                        .semester(problem.getSemester())
+                        .build());
+            }
+        }
+
+        return new Partitioning(partitions, untouched);
+    }
+
+    /**
+     * Puts the solved partitions back together into one solution over the
+     * original timeslots and rooms. The score is left for the next solve.
+     */
+    public static TimetableSolution merge(TimetableSolution problem, Partitioning partitioning,
+            List<TimetableSolution> solvedPartitions) {
+        List<LessonAssignment> lessons = new ArrayList<>(partitioning.untouched());
+        for (TimetableSolution solved : solvedPartitions) {
+            lessons.addAll(solved.getLessonAssignments());
+        }
+
+        return TimetableSolution.builder()
+                .lessonAssignments(lessons)
+                .availableTimeslots(problem.getAvailableTimeslots())
+                .availableRooms(problem.getAvailableRooms())
+                .academicYear(problem.getAcademicYear())
+                .semester(problem.getSemester())
+                .build();
+    }
+
+    static TimePeriod periodOf(int year) {
+        return Arrays.stream(TimePeriod.values())
+                .filter(period -> TimetableRules.isPeriodAllowedForYear(year, period))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<List<LessonAssignment>> components(List<LessonAssignment> lessons,
+            List<RoomInfo> rooms, TimePeriod period) {
+        int[] parent = new int[lessons.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+
+        // Primeira aula vista por recurso — as seguintes ligam-se a ela
+        Map<String, Integer> owners = new HashMap<>();
+        for (int i = 0; i < lessons.size(); i++) {
+            LessonAssignment lesson = lessons.get(i);
+            Integer index = i;
+            if (lesson.getTeacher() != null) {
+                union(parent, i, owners.computeIfAbsent("t" + lesson.getTeacher().getId(), k -> index));
+            }
+            if (lesson.getCohort() != null) {
+                union(parent, i, owners.computeIfAbsent("c" + lesson.getCohort().getId(), k -> index));
+            }
+            for (RoomInfo room : candidateRooms(lesson, rooms, period)) {
+                union(parent, i, owners.computeIfAbsent("r" + room.getId(), k -> index));
+            }
+        }
+
+        Map<Integer, List<LessonAssignment>> byRoot = new LinkedHashMap<>();
+        for (int i = 0; i < lessons.size(); i++) {
+            byRoot.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(lessons.get(i));
+        }
+        return new ArrayList<>(byRoot.values());
+    }
+
+    /**
+     * Rooms a lesson may use without breaking HC5, or every room if none is
+     * allowed (it is penalized wherever it goes). A pinned lesson only uses its own.
+     */
+    private static List<RoomInfo> candidateRooms(LessonAssignment lesson, List<RoomInfo> rooms, TimePeriod period) {
+        if (lesson.isPinned()) {
+            return List.of(lesson.getRoom());
+        }
+        List<RoomInfo> allowed = rooms.stream()
+                .filter(room -> room.isAvailableForCourse(lesson.getCourseId(), period))
+                .toList();
+        return allowed.isEmpty() ? rooms : allowed;
+    }
+
+    private static List<RoomInfo> roomsOf(List<LessonAssignment> component, List<RoomInfo> rooms, TimePeriod period) {
+        Set<RoomInfo> used = new LinkedHashSet<>();
+        for (LessonAssignment lesson : component) {
+            used.addAll(candidateRooms(lesson, rooms, period));
+        }
+        return new ArrayList<>(used);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[rootA] = rootB;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.domain.schedule.entity.ScheduledClass;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk write path for solver output.
+ *
+ * ScheduledClass ids are IDENTITY columns, which stops Hibernate from batching
+ * inserts: saveAll issues one INSERT ... RETURNING per row. Solver output never
+ * needs the generated ids back, so it is written here as JDBC batches instead
+ * (rewritten into multi-row INSERTs by the driver with reWriteBatchedInserts).
+ *
+ * Runs in the caller's transaction. The persistence context is not aware of
+ * the rows written here.
+ */
+@Component
+@Slf4j
+public class ScheduledClassBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO scheduled_classes (cohort_subject_id, timetable_id, room_id, timeslot_id, pinned)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_UNPINNED_SQL = """
+            SELECT id, cohort_subject_id, timeslot_id, room_id
+            FROM scheduled_classes
+            WHERE timetable_id = ? AND pinned = false
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE scheduled_classes SET timeslot_id = ?, room_id = ? WHERE id = ?
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM scheduled_classes WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ScheduledClassBatchWriter(JdbcTemplate jdbcTemplate, SchedulerProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = properties.getPersistence().getBatchSize();
+    }
+
+    /**
+     * Inserts new (id-less) scheduled classes; only the ids of their
+     * references are read.
+     */
+    public void insertAll(List<ScheduledClass> classes) {
+        if (classes.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        jdbcTemplate.batchUpdate(INSERT_SQL, classes, batchSize, (ps, sc) -> {
+            ps.setLong(1, sc.getCohortSubject().getId());
+            ps.setObject(2, sc.getTimetable() != null ? sc.getTimetable().getId() : null);
+            ps.setObject(3, sc.getRoom() != null ? sc.getRoom().getId() : null);
+            ps.setObject(4, sc.getTimeslot() != null ? sc.getTimeslot().getId() : null);
+            ps.setBoolean(5, sc.isPinned());
+        });
+
+        log.info("Batch-inserted {} scheduled classes in {} ms",
+                classes.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Current placements of the unpinned scheduled classes of a timetable.
+     */
+    public List<ScheduledClassDiff.Row> findUnpinnedPlacements(Long timetableId) {
+        return jdbcTemplate.query(SELECT_UNPINNED_SQL, (rs, rowNum) -> new ScheduledClassDiff.Row(
+                rs.getLong("id"),
+                rs.getLong("cohort_subject_id"),
+                rs.getObject("timeslot_id", Long.class),
+                rs.getObject("room_id", Long.class)), timetableId);
+    }
+
+    /**
+     * Writes a diff computed against {@link #findUnpinnedPlacements(Long)}:
+     * moved rows are updated in place, so their ids stay stable.
+     */
+    public void apply(Long timetableId, ScheduledClassDiff diff) {
+        long start = System.currentTimeMillis();
+
+        if (!diff.getDeletes().isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, diff.getDeletes(), batchSize,
+                    (ps, id) -> ps.setLong(1, id));
+        }
+        if (!diff.getUpdates().isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, diff.getUpdates(), batchSize, (ps, row) -> {
+                ps.setObject(1, row.timeslotId());
+                ps.setObject(2, row.roomId());
+                ps.setLong(3, row.id());
+            });
+        }
+        if (!diff.getInserts().isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, diff.getInserts(), batchSize, (ps, row) -> {
+                ps.setLong(1, row.cohortSubjectId());
+                ps.setLong(2, timetableId);
+                ps.setObject(3, row.roomId());
+                ps.setObject(4, row.timeslotId());
+                ps.setBoolean(5, false);
+            });
+        }
+
+        log.info("Applied diff to timetable {}: {} inserted, {} updated, {} deleted, {} unchanged in {} ms",
+                timetableId, diff.getInserts().size(), diff.getUpdates().size(), diff.getDeletes().size(),
+                diff.getUnchanged(), System.currentTimeMillis() - start);
+    }
+}
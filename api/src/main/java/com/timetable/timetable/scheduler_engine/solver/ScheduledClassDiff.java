@@ -0,0 +1,137 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Difference between the unpinned scheduled classes stored for a timetable
+ * and the placements of a new solution.
+ *
+ * ScheduledClass rows carry no block number, so rows and placements are
+ * matched per CohortSubject: first rows already at the same timeslot and room
+ * (left untouched), then rows at the same timeslot (room update), then the
+ * rest in id order (timeslot/room update). Placements left over are inserted,
+ * rows left over are deleted. Ids of matched rows stay stable.
+ */
+public final class ScheduledClassDiff {
+
+    /**
+     * A scheduled class placement. {@code id} is null for placements not yet stored.
+     */
+    public record Row(Long id, long cohortSubjectId, Long timeslotId, Long roomId) {
+
+        boolean samePlacement(Row other) {
+            return Objects.equals(timeslotId, other.timeslotId) && Objects.equals(roomId, other.roomId);
+        }
+    }
+
+    private final List<Row> inserts = new ArrayList<>();
+    private final List<Row> updates = new ArrayList<>();
+    private final List<Long> deletes = new ArrayList<>();
+    private int unchanged;
+
+    private ScheduledClassDiff() {
+    }
+
+    public static ScheduledClassDiff compute(List<Row> existing, List<Row> target) {
+        ScheduledClassDiff diff = new ScheduledClassDiff();
+
+        Map<Long, List<Row>> existingByCohortSubject = groupByCohortSubject(existing);
+        Map<Long, List<Row>> targetByCohortSubject = groupByCohortSubject(target);
+
+        for (Map.Entry<Long, List<Row>> entry : targetByCohortSubject.entrySet()) {
+            List<Row> rows = existingByCohortSubject.remove(entry.getKey());
+            diff.match(rows != null ? rows : new ArrayList<>(), entry.getValue());
+        }
+        // CohortSubjects que já não aparecem na solução
+        existingByCohortSubject.values().forEach(rows -> rows.forEach(row -> diff.deletes.add(row.id())));
+
+        return diff;
+    }
+
+    private void match(List<Row> rows, List<Row> placements) {
+        rows.sort(Comparator.comparing(Row::id));
+        List<Row> pending = new ArrayList<>(placements);
+
+        // 1. Mesmo timeslot e sala — nada a fazer
+        for (Iterator<Row> it = pending.iterator(); it.hasNext();) {
+            Row placement = it.next();
+            Row row = removeFirst(rows, placement, true);
+            if (row != null) {
+                unchanged++;
+                it.remove();
+            }
+        }
+
+        // 2. Mesmo timeslot — só muda a sala
+        for (Iterator<Row> it = pending.iterator(); it.hasNext();) {
+            Row placement = it.next();
+            Row row = removeFirst(rows, placement, false);
+            if (row != null) {
+                updates.add(new Row(row.id(), row.cohortSubjectId(), placement.timeslotId(), placement.roomId()));
+                it.remove();
+            }
+        }
+
+        // 3. Restantes, por ordem de id
+        Iterator<Row> remaining = rows.iterator();
+        for (Row placement : pending) {
+            if (remaining.hasNext()) {
+                Row row = remaining.next();
+                remaining.remove();
+                updates.add(new Row(row.id(), row.cohortSubjectId(), placement.timeslotId(), placement.roomId()));
+            } else {
+                inserts.add(new Row(null, placement.cohortSubjectId(), placement.timeslotId(), placement.roomId()));
+            }
+        }
+
+        rows.forEach(row -> deletes.add(row.id()));
+    }
+
+    private static Row removeFirst(List<Row> rows, Row placement, boolean sameRoom) {
+        for (Iterator<Row> it = rows.iterator(); it.hasNext();) {
+            Row row = it.next();
+            boolean matches = sameRoom
+                    ? row.samePlacement(placement)
+                    : Objects.equals(row.timeslotId(), placement.timeslotId());
+            if (matches) {
+                it.remove();
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private static Map<Long, List<Row>> groupByCohortSubject(List<Row> rows) {
+        Map<Long, List<Row>> grouped = new LinkedHashMap<>();
+        for (Row row : rows) {
+            grouped.computeIfAbsent(row.cohortSubjectId(), id -> new ArrayList<>()).add(row);
+        }
+        return grouped;
+    }
+
+    public List<Row> getInserts() {
+        return inserts;
+    }
+
+    public List<Row> getUpdates() {
+        return updates;
+    }
+
+    public List<Long> getDeletes() {
+        return deletes;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+    }
+}
@@ -0,0 +1,146 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically persists the best solution of a running solver job, so a
+ * restart or an early termination does not lose the work done so far.
+ *
+ * Checkpoints go through {@link TimetablePersistenceService#saveCheckpoint},
+ * i.e. into the period's Timetable/ScheduledClass rows, at most once per
+ * configured interval and only for solutions that assign every lesson and
+ * break no hard constraint, since readers see them as the real timetable.
+ * They leave the manual-edit tracking alone; only the final write resets it.
+ * Writes run on a single background thread; only the latest solution offered
+ * in an interval is written.
+ */
+@Service
+@Slf4j
+public class SolverCheckpointService {
+
+    private final TimetablePersistenceService persistenceService;
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final Map<UUID, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+
+    public SolverCheckpointService(TimetablePersistenceService persistenceService, SchedulerProperties properties) {
+        this.persistenceService = persistenceService;
+        SchedulerProperties.Checkpoint config = properties.getSolver().getCheckpoint();
+        this.enabled = config.isEnabled();
+        this.intervalMillis = config.getInterval().toMillis();
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "solver-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Best-solution consumer: records the solution and schedules a write for
+     * when the job's interval has elapsed.
+     */
+    public void offer(UUID jobId, TimetableSolution solution) {
+        if (!enabled || solution.getUnassignedLessons() > 0 || !solution.isFeasible()) {
+            return;
+        }
+
+        Checkpoint checkpoint = checkpoints.computeIfAbsent(jobId, id -> new Checkpoint());
+        long delay = checkpoint.offer(solution, intervalMillis);
+        if (delay >= 0) {
+            writer.schedule(() -> write(jobId, checkpoint), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops checkpointing a job, waiting for a write in progress, so the
+     * caller can persist the final solution without being overwritten.
+     */
+    public void close(UUID jobId) {
+        Checkpoint checkpoint = checkpoints.remove(jobId);
+        if (checkpoint == null) {
+            return;
+        }
+        checkpoint.close();
+        synchronized (checkpoint.writeLock) {
+            // Espera que uma escrita em curso termine
+        }
+    }
+
+    private void write(UUID jobId, Checkpoint checkpoint) {
+        synchronized (checkpoint.writeLock) {
+            TimetableSolution solution = checkpoint.takePending();
+            if (solution == null) {
+                return;
+            }
+            try {
+                long start = System.currentTimeMillis();
+                persistenceService.saveCheckpoint(solution);
+                log.info("Checkpointed job {} ({}) in {}", jobId, solution.getScore(),
+                        Duration.ofMillis(System.currentTimeMillis() - start));
+            } catch (Exception e) {
+                log.warn("Checkpoint of job {} failed: {}", jobId, e.getMessage(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    private static final class Checkpoint {
+
+        private final Object writeLock = new Object();
+
+        private TimetableSolution pending;
+        private long lastWriteAt;
+        private boolean writeScheduled;
+        private boolean closed;
+
+        /**
+         * Returns the delay before the next write, or -1 if one is already scheduled.
+         */
+        synchronized long offer(TimetableSolution solution, long intervalMillis) {
+            if (closed) {
+                return -1;
+            }
+            pending = solution;
+            if (writeScheduled) {
+                return -1;
+            }
+            writeScheduled = true;
+            return Math.max(0, lastWriteAt + intervalMillis - System.currentTimeMillis());
+        }
+
+        synchronized TimetableSolution takePending() {
+            writeScheduled = false;
+            if (closed) {
+                return null;
+            }
+            TimetableSolution solution = pending;
+            pending = null;
+            lastWriteAt = System.currentTimeMillis();
+            return solution;
+        }
+
+        synchronized void close() {
+            closed = true;
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Micrometer metrics of the solver jobs, to see where the wall-clock time
+ * goes:
+ * - solver.job.stage (timer, tag stage): preparation, problem_build, solve, persist;
+ * - solver.job.finished (counter, tag state): DONE or FAILED;
+ * - solver.jobs (gauge, tag state): jobs currently in each state.
+ */
+@Component
+@RequiredArgsConstructor
+public class SolverJobMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Registers the solver.jobs gauges over the live jobs.
+     */
+    public void watch(Collection<TimetableJob> jobs) {
+        for (TimetableJob.State state : TimetableJob.State.values()) {
+            meterRegistry.gauge("solver.jobs", Tags.of("state", state.name()), jobs,
+                    all -> all.stream().filter(job -> job.getState() == state).count());
+        }
+    }
+
+    public void stage(TimetableJob.Stage stage, long millis) {
+        meterRegistry.timer("solver.job.stage", "stage", stage.name().toLowerCase(Locale.ROOT))
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void finished(TimetableJob job) {
+        meterRegistry.counter("solver.job.finished", "state", job.getState().name()).increment();
+    }
+}
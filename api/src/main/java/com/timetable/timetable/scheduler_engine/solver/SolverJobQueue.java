@@ -0,0 +1,173 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import com.timetable.timetable.common.exception.ConflictException;
+import com.timetable.timetable.common.exception.TooManyRequestsException;
+import com.timetable.timetable.config.SchedulerProperties;
+
+/**
+ * Bounded FIFO queue for the background work of the solver endpoints
+ * (pre-solver preparation, problem build, solver start). At most
+ * scheduler.solver.queue.concurrency jobs run at once, so concurrent
+ * /generate calls cannot exhaust the connection pool; up to
+ * scheduler.solver.queue.capacity more wait in order, and beyond that
+ * requests are rejected (429).
+ *
+ * A job submitted for a period (year, semester) that already has a job of
+ * the same kind is not queued again: the caller gets the existing job id.
+ * A job of another kind, or a second repair (whose locks would be lost), is
+ * rejected (409) instead. The period stays
+ * reserved from submit until {@link #release} — the owner releases it once
+ * the job is DONE or FAILED, so a period that is still solving or persisting
+ * is not prepared and solved twice.
+ *
+ * Metrics: executor.* (name solver.queue, Micrometer ExecutorServiceMetrics)
+ * and solver.queue.rejected / solver.queue.deduplicated.
+ */
+@Component
+@Slf4j
+public class SolverJobQueue {
+
+    /** What a job does, for deduplication */
+    public enum Kind {
+        GENERATE,
+        RESUME,
+        REPAIR
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ActiveJob> activeByPeriod = new ConcurrentHashMap<>();
+
+    private final Counter rejected;
+    private final Counter deduplicated;
+
+    public SolverJobQueue(SchedulerProperties properties, MeterRegistry meterRegistry) {
+        SchedulerProperties.Queue queue = properties.getSolver().getQueue();
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                queue.getConcurrency(), queue.getConcurrency(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queue.getCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "solver-queue-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "solver.queue", Tags.empty()).bindTo(meterRegistry);
+        this.rejected = meterRegistry.counter("solver.queue.rejected");
+        this.deduplicated = meterRegistry.counter("solver.queue.deduplicated");
+    }
+
+    /**
+     * Queues the job's background work.
+     *
+     * @return jobId, or the id of the job of the same kind already in progress for the period
+     * @throws TooManyRequestsException if the queue is full
+     * @throws ConflictException if the period has a job of another kind in progress,
+     *         or a repair in progress and this is a repair too
+     */
+    public UUID submit(UUID jobId, Kind kind, int academicYear, int semester, Runnable work) {
+        String period = academicYear + "." + semester;
+        ActiveJob active = new ActiveJob(jobId, kind);
+
+        ActiveJob existing = activeByPeriod.putIfAbsent(period, active);
+        if (existing != null) {
+            if (existing.kind() != kind || kind == Kind.REPAIR) {
+                throw new ConflictException("Period " + period + " already has " + existing.kind()
+                        + " job " + existing.jobId() + " in progress — wait for it or terminate it");
+            }
+            deduplicated.increment();
+            log.info("Period {} already has {} job {} in progress — not queuing {}",
+                    period, kind, existing.jobId(), jobId);
+            return existing.jobId();
+        }
+
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(new QueuedJob(jobId, () -> {
+                log.info("Job {} started after {} ms in the queue", jobId,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedAt));
+                work.run();
+            }));
+        } catch (RejectedExecutionException e) {
+            activeByPeriod.remove(period, active);
+            rejected.increment();
+            throw new TooManyRequestsException("Solver queue is full (" + executor.getQueue().size()
+                    + " jobs waiting) — try again later");
+        }
+        return jobId;
+    }
+
+    /**
+     * 1-based position of a job still waiting in the queue, or null if it is
+     * running, done or unknown.
+     */
+    public Integer position(UUID jobId) {
+        int position = 1;
+        for (Runnable queued : executor.getQueue()) {
+            if (queued instanceof QueuedJob job && job.jobId().equals(jobId)) {
+                return position;
+            }
+            position++;
+        }
+        return null;
+    }
+
+    /**
+     * Frees the period of a finished (DONE or FAILED) job for new submissions.
+     */
+    public void release(UUID jobId) {
+        activeByPeriod.values().removeIf(active -> active.jobId().equals(jobId));
+    }
+
+    /**
+     * Removes a job still waiting in the queue, so its work never runs.
+     *
+     * @return false if the job is running, done or unknown
+     */
+    public boolean cancel(UUID jobId) {
+        for (Runnable queued : executor.getQueue()) {
+            if (queued instanceof QueuedJob job && job.jobId().equals(jobId) && executor.remove(job)) {
+                release(jobId);
+                log.info("Job {} removed from the queue", jobId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record ActiveJob(UUID jobId, Kind kind) {
+    }
+
+    private record QueuedJob(UUID jobId, Runnable work) implements Runnable {
+        @Override
+        public void run() {
+            work.run();
+        }
+    }
+}
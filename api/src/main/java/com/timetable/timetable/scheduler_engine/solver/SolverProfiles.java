@@ -0,0 +1,75 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+
+/**
+ * SolverManagers of the named solver profiles (scheduler.solver.profiles).
+ * A profile sets termination and phases only; move threads are not available
+ * in Community Timefold. Phases cannot be changed per job, so each profile
+ * gets its own manager, built the first time it is used. The default profile
+ * is the solverManager bean.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SolverProfiles {
+
+    private final SchedulerProperties schedulerProperties;
+    private final SolverManager<TimetableSolution, UUID> solverManager;
+
+    private final Map<String, SolverManager<TimetableSolution, UUID>> managers = new ConcurrentHashMap<>();
+
+    /**
+     * Name of the profile to use: the given one, or the default when blank.
+     *
+     * @throws IllegalArgumentException if no profile has that name
+     */
+    public String resolve(String profile) {
+        SchedulerProperties.Solver solver = schedulerProperties.getSolver();
+        if (profile == null || profile.isBlank()) {
+            return solver.getDefaultProfile();
+        }
+        if (!solver.getProfiles().containsKey(profile)) {
+            throw new IllegalArgumentException("Unknown solver profile: " + profile
+                    + " (available: " + solver.getProfiles().keySet() + ")");
+        }
+        return profile;
+    }
+
+    public SolverManager<TimetableSolution, UUID> managerFor(String profile) {
+        String name = resolve(profile);
+        if (name.equals(schedulerProperties.getSolver().getDefaultProfile())) {
+            return solverManager;
+        }
+        return managers.computeIfAbsent(name, this::create);
+    }
+
+    private SolverManager<TimetableSolution, UUID> create(String profile) {
+        log.info("Creating solver manager for profile {}", profile);
+        SolverManagerConfig managerConfig = new SolverManagerConfig();
+        managerConfig.setParallelSolverCount("AUTO");
+
+        return SolverManager.create(
+                SolverFactory.create(TimefoldConfig.profileSolverConfig(schedulerProperties.getSolver(), profile)),
+                managerConfig);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        managers.values().forEach(SolverManager::close);
+    }
+}
@@ -0,0 +1,217 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams solver progress to clients over Server-Sent Events.
+ *
+ * Events, all with a {@link SolverProgressEvent} JSON payload:
+ * - {@code phase}: the job moved to another phase
+ * - {@code best-solution}: the solver found a better solution
+ * - {@code terminated}: solving ended, the stream is then closed
+ * - {@code error}: solving failed, the stream is then closed
+ *
+ * The latest phase and best solution are replayed to late subscribers.
+ */
+@Component
+@Slf4j
+public class SolverProgressPublisher {
+
+    public static final String PHASE_PREPARING = "PREPARING";
+    public static final String PHASE_CONSTRUCTION_HEURISTIC = "CONSTRUCTION_HEURISTIC";
+    public static final String PHASE_LOCAL_SEARCH = "LOCAL_SEARCH";
+    public static final String PHASE_TERMINATED = "TERMINATED";
+    public static final String PHASE_FAILED = "FAILED";
+
+    private final long eventsTimeoutMillis;
+    private final Map<UUID, JobProgress> progressByJob = new ConcurrentHashMap<>();
+
+    public SolverProgressPublisher(SchedulerProperties properties) {
+        this.eventsTimeoutMillis = properties.getSolver().getEventsTimeout().toMillis();
+    }
+
+    public record SolverProgressEvent(
+            UUID jobId,
+            String phase,
+            String score,
+            Boolean feasible,
+            Long unassignedLessons,
+            long elapsedMillis,
+            String message) {
+    }
+
+    /**
+     * Starts tracking a job, before any subscriber or solver event can refer to it.
+     */
+    public void register(UUID jobId, String initialPhase) {
+        JobProgress progress = progressByJob.computeIfAbsent(jobId, JobProgress::new);
+        progress.changePhase(initialPhase);
+    }
+
+    /**
+     * Opens an event stream for the job, or returns null if the job is unknown.
+     */
+    public SseEmitter subscribe(UUID jobId) {
+        JobProgress progress = progressByJob.get(jobId);
+        if (progress == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(eventsTimeoutMillis);
+        progress.attach(emitter);
+        return emitter;
+    }
+
+    /**
+     * Best-solution consumer: called by the SolverManager on its consumer thread.
+     */
+    public void bestSolution(UUID jobId, TimetableSolution solution) {
+        JobProgress progress = progressByJob.computeIfAbsent(jobId, JobProgress::new);
+        // Sem valores nulos permitidos: enquanto houver aulas por atribuir ainda estamos na heurística de construção
+        String phase = solution.getUnassignedLessons() > 0
+                ? PHASE_CONSTRUCTION_HEURISTIC
+                : PHASE_LOCAL_SEARCH;
+        progress.changePhase(phase);
+        progress.bestSolution(solution);
+    }
+
+    public void terminated(UUID jobId, TimetableSolution solution) {
+        JobProgress progress = progressByJob.get(jobId);
+        if (progress != null) {
+            progress.finish("terminated", PHASE_TERMINATED, solution, null);
+        }
+    }
+
+    public void failed(UUID jobId, Throwable error) {
+        JobProgress progress = progressByJob.computeIfAbsent(jobId, JobProgress::new);
+        progress.finish("error", PHASE_FAILED, null, error.getMessage());
+    }
+
+    /**
+     * Drops a job once its result has been collected or it was cancelled.
+     */
+    public void forget(UUID jobId) {
+        JobProgress progress = progressByJob.remove(jobId);
+        if (progress != null) {
+            progress.completeAll();
+        }
+    }
+
+    private static final class JobProgress {
+
+        private final UUID jobId;
+        private final long startedAt = System.currentTimeMillis();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        private String phase;
+        private SolverProgressEvent lastBest;
+        private String finalEventName;
+        private SolverProgressEvent finalEvent;
+
+        JobProgress(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        synchronized void attach(SseEmitter emitter) {
+            emitter.onCompletion(() -> emitters.remove(emitter));
+            emitter.onTimeout(() -> emitters.remove(emitter));
+            emitter.onError(e -> emitters.remove(emitter));
+
+            if (phase != null) {
+                send(emitter, "phase", phaseEvent());
+            }
+            if (lastBest != null) {
+                send(emitter, "best-solution", lastBest);
+            }
+            if (finalEvent != null) {
+                send(emitter, finalEventName, finalEvent);
+                emitter.complete();
+                return;
+            }
+            emitters.add(emitter);
+        }
+
+        synchronized void changePhase(String newPhase) {
+            if (newPhase.equals(phase) || finalEvent != null) {
+                return;
+            }
+            phase = newPhase;
+            broadcast("phase", phaseEvent());
+        }
+
+        synchronized void bestSolution(TimetableSolution solution) {
+            if (finalEvent != null) {
+                return;
+            }
+            lastBest = solutionEvent(solution, null);
+            broadcast("best-solution", lastBest);
+        }
+
+        synchronized void finish(String eventName, String finalPhase, TimetableSolution solution, String message) {
+            if (finalEvent != null) {
+                return;
+            }
+            phase = finalPhase;
+            finalEventName = eventName;
+            finalEvent = solution != null
+                    ? solutionEvent(solution, message)
+                    : new SolverProgressEvent(jobId, phase, null, null, null, elapsed(), message);
+            broadcast(finalEventName, finalEvent);
+            completeAll();
+        }
+
+        synchronized void completeAll() {
+            emitters.forEach(SseEmitter::complete);
+            emitters.clear();
+        }
+
+        private SolverProgressEvent phaseEvent() {
+            return new SolverProgressEvent(jobId, phase, null, null, null, elapsed(), null);
+        }
+
+        private SolverProgressEvent solutionEvent(TimetableSolution solution, String message) {
+            return new SolverProgressEvent(
+                    jobId,
+                    phase,
+                    solution.getScore() != null ? solution.getScore().toString() : null,
+                    solution.isFeasible(),
+                    solution.getUnassignedLessons(),
+                    elapsed(),
+                    message);
+        }
+
+        private long elapsed() {
+            return System.currentTimeMillis() - startedAt;
+        }
+
+        private void broadcast(String name, SolverProgressEvent payload) {
+            for (SseEmitter emitter : emitters) {
+                send(emitter, name, payload);
+            }
+        }
+
+        // Um SseEventBuilder não é reutilizável — cria-se um por envio
+        private void send(SseEmitter emitter, String name, SolverProgressEvent payload) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(payload, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desligou-se — deixa de receber eventos
+                log.debug("Dropping SSE subscriber of job {}: {}", jobId, e.getMessage());
+                emitters.remove(emitter);
+            }
+        }
+    }
+}
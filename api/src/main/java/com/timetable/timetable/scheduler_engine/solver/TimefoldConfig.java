@@ -1,5 +1,7 @@
 package com.timetable.timetable.scheduler_engine.solver;
 
+import java.util.UUID;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,11 +11,18 @@ import ai.timefold.solver.core.api.solver.SolverFactory;
 import ai.timefold.solver.core.api.solver.SolverManager;
 import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
 import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.core.config.heuristic.selector.entity.pillar.SubPillarType;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.ChangeMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.PillarSwapMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.SwapMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.value.ValueSelectorConfig;
 import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
 import ai.timefold.solver.core.config.solver.SolverConfig;
 import ai.timefold.solver.core.config.solver.SolverManagerConfig;
 import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
 
+import com.timetable.timetable.config.SchedulerProperties;
 import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
 import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
 
@@ -27,30 +36,135 @@ import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
 @Configuration
 public class TimefoldConfig {
 
+    /**
+     * Config of the default solver profile (scheduler.solver.default-profile),
+     * used by the solverManager bean.
+     */
     @Bean
-    public SolverConfig solverConfig() {
-        return new SolverConfig()
-                .withSolutionClass(TimetableSolution.class)
-                .withEntityClasses(LessonAssignment.class)
-                .withConstraintProviderClass(TimetableConstraintProvider.class)
+    public SolverConfig solverConfig(SchedulerProperties properties) {
+        return profileSolverConfig(properties.getSolver(), properties.getSolver().getDefaultProfile());
+    }
+
+    /**
+     * Config of a named solver profile (scheduler.solver.profiles): its
+     * termination and phase settings only. Move threads are not available in
+     * Community Timefold, so profiles cannot set them.
+     *
+     * @throws IllegalArgumentException if no profile has that name
+     */
+    public static SolverConfig profileSolverConfig(SchedulerProperties.Solver solver, String profileName) {
+        SchedulerProperties.Profile profile = solver.getProfiles().get(profileName);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown solver profile: " + profileName
+                    + " (available: " + solver.getProfiles().keySet() + ")");
+        }
+
+        return baseSolverConfig()
                 .withTerminationConfig(new TerminationConfig()
-                        .withSecondsSpentLimit(300L)
-                        .withUnimprovedSecondsSpentLimit(60L))
+                        .withSpentLimit(profile.getTimeLimit())
+                        .withUnimprovedSpentLimit(profile.getUnimprovedTimeLimit()))
 
                 .withPhases(
                         // Phase 1: Build initial solution 
                         // FIRST_FIT_DECREASING sorts entities by difficulty before assigning
                         // (now works because LessonAssignment has difficultyComparatorClass)
                         new ConstructionHeuristicPhaseConfig()
-                                .withConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT_DECREASING)
+                                .withConstructionHeuristicType(profile.getConstructionHeuristic())
                                 .withTerminationConfig(new TerminationConfig()
-                                        .withSecondsSpentLimit(30L)),
+                                        .withSpentLimit(profile.getConstructionTimeLimit())),
 
-                        // Phase 2: Improve solution 
+                        // Phase 2: Improve solution until the profile's termination
                         // Uses hill climbing, tabu search, simulated annealing, etc.
                         new LocalSearchPhaseConfig()
-                                .withTerminationConfig(new TerminationConfig()
-                                        .withSecondsSpentLimit(270L)));
+                                .withLocalSearchType(profile.getLocalSearchType())
+                                .withMoveSelectorConfig(localSearchMoves()));
+    }
+
+    /**
+     * Repair solver used after manual edits. The problem starts from the
+     * persisted timetable (see TimetableGeneratorService#buildRepairProblem),
+     * so it skips straight to a short Local Search.
+     */
+    @Bean
+    public SolverManager<TimetableSolution, UUID> repairSolverManager(SchedulerProperties properties) {
+        SchedulerProperties.Repair repair = properties.getSolver().getRepair();
+
+        SolverConfig config = baseSolverConfig()
+                .withTerminationConfig(new TerminationConfig()
+                        .withSpentLimit(repair.getTimeLimit())
+                        .withUnimprovedSpentLimit(repair.getUnimprovedTimeLimit()))
+                .withPhases(
+                        // Só atribui as aulas que ficaram sem slot (ex.: blocos novos);
+                        // numa solução já inicializada termina logo
+                        new ConstructionHeuristicPhaseConfig()
+                                .withConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT),
+                        new LocalSearchPhaseConfig()
+                                .withMoveSelectorConfig(localSearchMoves()));
+
+        SolverManagerConfig managerConfig = new SolverManagerConfig();
+        managerConfig.setParallelSolverCount("AUTO");
+
+        return SolverManager.create(SolverFactory.create(config), managerConfig);
+    }
+
+    /**
+     * Solves the partitions of a partitioned job (see PartitionedSolver), one
+     * solver thread per partition. Every constraint is hard, so a partition
+     * stops as soon as it reaches 0hard/0soft.
+     */
+    @Bean
+    public SolverManager<TimetableSolution, UUID> partitionSolverManager(SchedulerProperties properties) {
+        SchedulerProperties.Partitioned partitioned = properties.getSolver().getPartitioned();
+
+        SolverConfig config = baseSolverConfig()
+                .withTerminationConfig(new TerminationConfig()
+                        .withSpentLimit(partitioned.getTimeLimit())
+                        .withUnimprovedSpentLimit(partitioned.getUnimprovedTimeLimit())
+                        .withBestScoreLimit("0hard/0soft"));
+
+        int solverCount = partitioned.getParallelSolverCount() > 0
+                ? partitioned.getParallelSolverCount()
+                : Runtime.getRuntime().availableProcessors();
+        SolverManagerConfig managerConfig = new SolverManagerConfig();
+        managerConfig.setParallelSolverCount(String.valueOf(solverCount));
+
+        return SolverManager.create(SolverFactory.create(config), managerConfig);
+    }
+
+    /**
+     * Local Search moves, instead of the generic change + swap:
+     * - timeslot and room changes, drawn from each lesson's own value range
+     * (see LessonValueRanges), so every sampled value already passes HC4-HC6/HC8;
+     * - swaps, which Timefold skips as not doable when a lesson's new value
+     * falls outside its value range (e.g. across periods);
+     * - pillar swaps on the timeslot: every lesson in one timeslot trades
+     * places with every lesson in another. Teacher, room and cohort clashes
+     * move with them, so none of those is created; other constraints can
+     * still break, e.g. HC7 when a slot lands next to a same-subject lesson.
+     * Compared with the generic moves in benchmark/timetableSolverBenchmarkConfig.xml.
+     */
+    static UnionMoveSelectorConfig localSearchMoves() {
+        return new UnionMoveSelectorConfig()
+                .withMoveSelectors(
+                        new ChangeMoveSelectorConfig()
+                                .withValueSelectorConfig(new ValueSelectorConfig().withVariableName("timeslot"))
+                                .withFixedProbabilityWeight(4.0),
+                        new ChangeMoveSelectorConfig()
+                                .withValueSelectorConfig(new ValueSelectorConfig().withVariableName("room"))
+                                .withFixedProbabilityWeight(2.0),
+                        new SwapMoveSelectorConfig()
+                                .withFixedProbabilityWeight(3.0),
+                        new PillarSwapMoveSelectorConfig()
+                                .withVariableNameIncludes("timeslot")
+                                .withSubPillarType(SubPillarType.NONE)
+                                .withFixedProbabilityWeight(1.0));
+    }
+
+    private static SolverConfig baseSolverConfig() {
+        return new SolverConfig()
+                .withSolutionClass(TimetableSolution.class)
+                .withEntityClasses(LessonAssignment.class)
+                .withConstraintProviderClass(TimetableConstraintProvider.class);
     }
 
     @Bean
@@ -59,7 +173,7 @@ public class TimefoldConfig {
     }
 
     @Bean
-    public SolverManager<TimetableSolution, java.util.UUID> solverManager(
+    public SolverManager<TimetableSolution, UUID> solverManager(
             SolverFactory<TimetableSolution> solverFactory) {
 
         // Configure parallel solving if needed
@@ -1,13 +1,12 @@
 package com.timetable.timetable.scheduler_engine.solver;
 
+import java.util.List;
+
 import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
 import ai.timefold.solver.core.api.score.stream.*;
 
-import java.time.DayOfWeek;
-import java.time.LocalTime;
-
-import com.timetable.timetable.domain.schedule.entity.TimePeriod;
 import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
 
 /**
  * Defines the constraints for the timetabling problem.
@@ -16,9 +15,6 @@ import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
  */
 public class TimetableConstraintProvider implements ConstraintProvider {
 
-    private static final LocalTime MASS_START = LocalTime.of(8, 50);
-    private static final LocalTime MASS_END = LocalTime.of(9, 40);
-
     @Override
     public Constraint[] defineConstraints(ConstraintFactory factory) {
         return new Constraint[] {
@@ -48,10 +44,10 @@ public class TimetableConstraintProvider implements ConstraintProvider {
     private Constraint teacherConflict(ConstraintFactory factory) {
         return factory.forEachUniquePair(
                 LessonAssignment.class,
-                Joiners.equal(LessonAssignment::getTeacher),
-                Joiners.equal(LessonAssignment::getTimeslot))
+                Joiners.equal(LessonAssignment::getTeacherIndex),
+                Joiners.equal(LessonAssignment::getTimeslotIndex))
                 .filter((l1, l2) -> l1.getTimeslot() != null &&
-                        l1.getTeacher() != null &&
+                        l1.getTeacherIndex() >= 0 &&
                         !l1.isSimulationTeam()) // ← "A Equipa" pode estar em paralelo
                 .penalize(HardSoftScore.ONE_HARD)
                 .asConstraint("Teacher conflict");
@@ -63,8 +59,8 @@ public class TimetableConstraintProvider implements ConstraintProvider {
     private Constraint roomConflict(ConstraintFactory factory) {
         return factory.forEachUniquePair(
                 LessonAssignment.class,
-                Joiners.equal(LessonAssignment::getRoom),
-                Joiners.equal(LessonAssignment::getTimeslot))
+                Joiners.equal(LessonAssignment::getRoomIndex),
+                Joiners.equal(LessonAssignment::getTimeslotIndex))
                 .filter((lesson1, lesson2) -> lesson1.getRoom() != null &&
                         lesson1.getTimeslot() != null)
                 .penalize(HardSoftScore.ONE_HARD)
@@ -77,10 +73,10 @@ public class TimetableConstraintProvider implements ConstraintProvider {
     private Constraint cohortConflict(ConstraintFactory factory) {
         return factory.forEachUniquePair(
                 LessonAssignment.class,
-                Joiners.equal(LessonAssignment::getCohort),
-                Joiners.equal(LessonAssignment::getTimeslot))
+                Joiners.equal(LessonAssignment::getCohortIndex),
+                Joiners.equal(LessonAssignment::getTimeslotIndex))
                 .filter((lesson1, lesson2) -> lesson1.getTimeslot() != null &&
-                        lesson1.getCohort() != null)
+                        lesson1.getCohortIndex() >= 0)
                 .penalize(HardSoftScore.ONE_HARD)
                 .asConstraint("Cohort conflict");
     }
@@ -104,10 +100,10 @@ public class TimetableConstraintProvider implements ConstraintProvider {
     private Constraint roomCourseRestriction(ConstraintFactory factory) {
         return factory.forEach(LessonAssignment.class)
                 .filter(lesson -> lesson.getRoom() != null &&
-                        lesson.getCourseId() != null &&
+                        lesson.getCohort() != null &&
                         !lesson.getRoom().isAvailableForCourse(
-                                lesson.getCourseId(),
-                                lesson.getTimeslot().getPeriod()))
+                                lesson.getCohort().getCourseId(),
+                                lesson.getTimeslot().getPeriodOrdinal()))
                 .penalize(HardSoftScore.ONE_HARD)
                 .asConstraint("Room course restriction violated");
     }
@@ -119,7 +115,7 @@ public class TimetableConstraintProvider implements ConstraintProvider {
         return factory.forEach(LessonAssignment.class)
                 .filter(lesson -> lesson.getTimeslot() != null &&
                         lesson.getCohort() != null &&
-                        !isPeriodAllowedForYear(
+                        !TimetableRules.isPeriodAllowedForYear(
                                 lesson.getCohort().getYear(),
                                 lesson.getTimeslot().getPeriod()))
                 .penalize(HardSoftScore.ONE_HARD)
@@ -130,17 +126,18 @@ public class TimetableConstraintProvider implements ConstraintProvider {
      * HC7:
      * Prevent two consecutive lessons of the same subject
      * for the same cohort on the same day.
+     * Pairs on different days are never joined; consecutiveness is a lookup
+     * in the timeslot table (TimetableRules#withConsecutiveTable).
      */
     private Constraint sameSubjectConsecutiveSameDay(ConstraintFactory factory) {
         return factory.forEachUniquePair(
                 LessonAssignment.class,
-                Joiners.equal(LessonAssignment::getCohort),
-                Joiners.equal(LessonAssignment::getSubject))
-                .filter((l1, l2) -> l1.getTimeslot() != null &&
-                        l2.getTimeslot() != null &&
+                Joiners.equal(LessonAssignment::getCohortIndex),
+                Joiners.equal(LessonAssignment::getSubjectIndex),
+                Joiners.equal(lesson -> lesson.getTimeslot().getDayNumber()))
+                .filter((l1, l2) -> l1.getCohortIndex() >= 0 &&
                         !l1.isFixedDaySession() &&
-                        isSameDay(l1, l2) &&
-                        areConsecutive(l1, l2))
+                        TimetableRules.areConsecutive(l1.getTimeslot(), l2.getTimeslot()))
                 .penalize(HardSoftScore.ONE_HARD)
                 .asConstraint("Same subject consecutive lessons same day");
     }
@@ -155,86 +152,59 @@ public class TimetableConstraintProvider implements ConstraintProvider {
     private Constraint massBlockedTimeslot(ConstraintFactory factory) {
         return factory.forEach(LessonAssignment.class)
                 .filter(lesson -> lesson.getTimeslot() != null &&
-                        lesson.getTimeslot().getDayOfWeek() == DayOfWeek.FRIDAY &&
-                        overlapsWithMass(
-                                lesson.getTimeslot().getStartTime(),
-                                lesson.getTimeslot().getEndTime()))
+                        TimetableRules.isMassBlocked(lesson.getTimeslot()))
                 .penalize(HardSoftScore.ONE_HARD)
                 .asConstraint("Mass timeslot blocked on Friday");
     }
 
     // ========================================
-    // SOFT CONSTRAINTS (commented out for now)
+    // SOFT CONSTRAINTS (off in production, compared in the solver benchmark)
     // ========================================
 
     /**
      * SC1: Minimize gaps in a teacher's schedule (same day).
-     * Teachers prefer to have consecutive lessons without breaks.
-     */
-    /*
-     * private Constraint minimizeTeacherGaps(ConstraintFactory factory) {
-     * return factory.forEach(LessonAssignment.class)
-     * .join(LessonAssignment.class,
-     * Joiners.equal(LessonAssignment::getTeacher),
-     * Joiners.equal(lesson -> lesson.getTimeslot().getDayOfWeek())
-     * )
-     * .filter((lesson1, lesson2) ->
-     * lesson1.getTimeslot() != null &&
-     * lesson2.getTimeslot() != null &&
-     * hasGapBetween(lesson1.getTimeslot(), lesson2.getTimeslot())
-     * )
-     * .penalize(HardSoftScore.ONE_SOFT)
-     * .asConstraint("Teacher schedule gap");
-     * }
+     * Teachers prefer to have consecutive lessons without breaks: each free
+     * timeslot between a teacher's first and last lesson of a day is a gap.
      */
+    protected Constraint minimizeTeacherGaps(ConstraintFactory factory) {
+        return factory.forEach(LessonAssignment.class)
+                .filter(lesson -> lesson.getTeacherIndex() >= 0)
+                .groupBy(LessonAssignment::getTeacherIndex,
+                        lesson -> lesson.getTimeslot().getDayNumber(),
+                        ConstraintCollectors.toList(LessonAssignment::getTimeslot))
+                .join(TimeslotInfo.class,
+                        Joiners.equal((teacher, day, taught) -> day, TimeslotInfo::getDayNumber))
+                .filter((teacher, day, taught, timeslot) -> isGapWithin(taught, timeslot))
+                .penalize(HardSoftScore.ONE_SOFT)
+                .asConstraint("Teacher schedule gap");
+    }
 
     /**
      * SC2: Distribute lessons of the same subject evenly across the week.
      */
-    /*
-     * private Constraint distributeSubjectEvenly(ConstraintFactory factory) {
-     * return factory.forEach(LessonAssignment.class)
-     * .join(LessonAssignment.class,
-     * Joiners.equal(lesson -> lesson.getCohortSubject().getId()),
-     * Joiners.equal(lesson -> lesson.getTimeslot().getDayOfWeek())
-     * )
-     * .filter((lesson1, lesson2) ->
-     * lesson1.getId() < lesson2.getId() // Avoid double counting
-     * )
-     * .penalize(HardSoftScore.ONE_SOFT)
-     * .asConstraint("Subject lessons on same day");
-     * }
-     */
-
-    private boolean isPeriodAllowedForYear(int year, TimePeriod period) {
-        boolean isOddYear = year % 2 != 0;
-
-        if (isOddYear) {
-            return period == TimePeriod.MORNING;
-        } else {
-            return period == TimePeriod.AFTERNOON;
-        }
-    }
-
-    private boolean isSameDay(LessonAssignment l1, LessonAssignment l2) {
-        return l1.getTimeslot().getDayOfWeek()
-                .equals(l2.getTimeslot().getDayOfWeek());
-    }
-
-    private boolean areConsecutive(LessonAssignment l1, LessonAssignment l2) {
-        LocalTime end1 = l1.getTimeslot().getEndTime();
-        LocalTime start2 = l2.getTimeslot().getStartTime();
-        LocalTime end2 = l2.getTimeslot().getEndTime();
-        LocalTime start1 = l1.getTimeslot().getStartTime();
-
-        // Considera consecutivo se o gap entre blocos for <= 10 minutos
-        long gap1 = java.time.Duration.between(end1, start2).toMinutes();
-        long gap2 = java.time.Duration.between(end2, start1).toMinutes();
-
-        return (gap1 >= 0 && gap1 <= 10) || (gap2 >= 0 && gap2 <= 10);
+    protected Constraint distributeSubjectEvenly(ConstraintFactory factory) {
+        return factory.forEachUniquePair(
+                LessonAssignment.class,
+                Joiners.equal(lesson -> lesson.getCohortSubject().getId()),
+                Joiners.equal(lesson -> lesson.getTimeslot().getDayNumber()))
+                .penalize(HardSoftScore.ONE_SOFT)
+                .asConstraint("Subject lessons on same day");
     }
 
-    private boolean overlapsWithMass(LocalTime start, LocalTime end) {
-        return start.isBefore(MASS_END) && end.isAfter(MASS_START);
+    /**
+     * True if the timeslot falls strictly between the first and last of the
+     * taught timeslots of a day, and is not one of them.
+     */
+    private static boolean isGapWithin(List<TimeslotInfo> taught, TimeslotInfo timeslot) {
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (TimeslotInfo slot : taught) {
+            if (slot.getIndex() == timeslot.getIndex()) {
+                return false;
+            }
+            first = Math.min(first, slot.getStartMinute());
+            last = Math.max(last, slot.getStartMinute());
+        }
+        return timeslot.getStartMinute() > first && timeslot.getStartMinute() < last;
     }
 }
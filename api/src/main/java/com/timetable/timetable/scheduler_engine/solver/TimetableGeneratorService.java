@@ -1,9 +1,13 @@
 package com.timetable.timetable.scheduler_engine.solver;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.Map;
-import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.timetable.timetable.domain.schedule.entity.CohortSubject;
 import com.timetable.timetable.domain.schedule.entity.Room;
@@ -23,8 +27,6 @@ import com.timetable.timetable.scheduler_engine.mapper.TimetableSolutionMapper;
 
 import org.springframework.stereotype.Service;
 
-import ai.timefold.solver.core.api.solver.SolverJob;
-import ai.timefold.solver.core.api.solver.SolverManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,13 +42,45 @@ public class TimetableGeneratorService {
     private final ScheduledClassRepository scheduledClassRepository;
 
     private final TimetableSolutionMapper solutionMapper;
-    private final SolverManager<TimetableSolution, UUID> solverManager;
 
+    /**
+     * Builds the planning problem for a period: every active CohortSubject
+     * without pinned classes to solve, plus the pinned ones as fixed lessons.
+     * Launching the solver is up to the caller.
+     */
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    public UUID generateTimetable(int academicYear, int semester, UUID jobId,
-            Map<UUID, SolverJob<TimetableSolution, UUID>> jobs) {
+    public TimetableSolution buildProblem(int academicYear, int semester) {
+        return buildProblem(academicYear, semester, false, Set.of());
+    }
+
+    /**
+     * Same as {@link #buildProblem(int, int)}, but each lesson starts where the
+     * last persisted (or checkpointed) timetable placed it, so the solver resumes
+     * from that solution instead of from scratch. Blocks without a persisted
+     * class stay unassigned for the construction heuristic.
+     */
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public TimetableSolution buildWarmStartProblem(int academicYear, int semester) {
+        return buildProblem(academicYear, semester, true, Set.of());
+    }
+
+    /**
+     * Repair problem after manual edits: a warm start from the persisted
+     * timetable where the given scheduled classes are locked in place, so the
+     * solver only moves the other lessons around them.
+     */
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public TimetableSolution buildRepairProblem(int academicYear, int semester, Set<Long> lockedScheduledClassIds) {
+        if (timetableRepository.findByAcademicYearAndSemester(academicYear, semester).isEmpty())
+            throw new IllegalStateException("No timetable to repair for " + academicYear + "." + semester);
+        return buildProblem(academicYear, semester, true, lockedScheduledClassIds);
+    }
+
+    private TimetableSolution buildProblem(int academicYear, int semester, boolean warmStart,
+            Set<Long> lockedScheduledClassIds) {
 
-        log.info("Starting solver for job: {}", jobId);
+        log.info("Building {} planning problem for {}.{}",
+                warmStart ? "warm-start" : "cold", academicYear, semester);
 
         List<CohortSubject> allActive = cohortSubjectRepository
                 .findByAcademicYearAndSemesterAndIsActive(academicYear, semester, true);
@@ -73,7 +107,7 @@ public class TimetableGeneratorService {
         // Exclui os CohortSubjects que já têm ScheduledClass pinned
         Set<Long> pinnedCohortSubjectIds = pinnedClasses.stream()
                 .map(sc -> sc.getCohortSubject().getId())
-                .collect(java.util.stream.Collectors.toSet());
+                .collect(Collectors.toSet());
 
         List<CohortSubject> unplanned = allActive.stream()
                 .filter(cs -> !pinnedCohortSubjectIds.contains(cs.getId()))
@@ -82,44 +116,68 @@ public class TimetableGeneratorService {
         log.info("CohortSubjects: {} total, {} pinned, {} to solve",
                 allActive.size(), pinnedClasses.size(), unplanned.size());
 
-        // Constrói o problema só com os não-pinned
+        // Constrói o problema com os não-pinned; os pinned entram já fixos
         TimetableSolution problem = solutionMapper.toPlanningProblem(
-                unplanned, timeslots, rooms, academicYear, semester);
-
-        // Injeta os pinned como LessonAssignments já fixos
-        if (!pinnedClasses.isEmpty()) {
-            Map<Long, TimeslotInfo> timeslotById = problem.getAvailableTimeslots().stream()
-                    .collect(java.util.stream.Collectors.toMap(TimeslotInfo::getId,
-                            java.util.function.Function.identity()));
-            Map<Long, RoomInfo> roomById = problem.getAvailableRooms().stream()
-                    .collect(
-                            java.util.stream.Collectors.toMap(RoomInfo::getId, java.util.function.Function.identity()));
-
-            for (ScheduledClass sc : pinnedClasses) {
-                TimeslotInfo timeslot = timeslotById.get(sc.getTimeslot().getId());
-                RoomInfo room = roomById.get(sc.getRoom().getId());
-
-                if (timeslot == null || room == null) {
-                    log.warn("Pinned ScheduledClass id={} has invalid timeslot/room — skipping", sc.getId());
-                    continue;
-                }
+                unplanned, pinnedClasses, timeslots, rooms, academicYear, semester);
+
+        Map<Long, TimeslotInfo> timeslotById = problem.getAvailableTimeslots().stream()
+                .collect(Collectors.toMap(TimeslotInfo::getId, Function.identity()));
+        Map<Long, RoomInfo> roomById = problem.getAvailableRooms().stream()
+                .collect(Collectors.toMap(RoomInfo::getId, Function.identity()));
 
-                problem.getLessonAssignments().add(
-                        LessonAssignment.builder()
-                                .id(-sc.getId())
-                                .cohortSubject(solutionMapper.toCohortSubjectInfo(sc.getCohortSubject()))
-                                .blockNumber(0)
-                                .timeslot(timeslot)
-                                .room(room)
-                                .pinned(true)
-                                .build());
+        if (warmStart && timetable != null) {
+            seedFromPersisted(problem, scheduledClassRepository.findByTimetableAndPinnedFalse(timetable),
+                    timeslotById, roomById, lockedScheduledClassIds);
+        }
+
+        return problem;
+    }
+
+    /**
+     * Places each lesson block on one of the persisted classes of its
+     * CohortSubject. Extra persisted classes are ignored (and dropped on the
+     * next save); blocks left over stay unassigned. Blocks seeded from a
+     * locked class are locked, and locked classes are used first.
+     */
+    private void seedFromPersisted(TimetableSolution problem, List<ScheduledClass> persisted,
+            Map<Long, TimeslotInfo> timeslotById, Map<Long, RoomInfo> roomById, Set<Long> lockedIds) {
+        Map<Long, Deque<ScheduledClass>> byCohortSubjectId = new HashMap<>();
+        for (ScheduledClass sc : persisted) {
+            Deque<ScheduledClass> classes = byCohortSubjectId
+                    .computeIfAbsent(sc.getCohortSubject().getId(), id -> new ArrayDeque<>());
+            if (lockedIds.contains(sc.getId())) {
+                classes.addFirst(sc);
+            } else {
+                classes.addLast(sc);
+            }
+        }
+
+        int seeded = 0;
+        int locked = 0;
+        for (LessonAssignment lesson : problem.getLessonAssignments()) {
+            if (lesson.isPinned()) {
+                continue;
+            }
+            Deque<ScheduledClass> available = byCohortSubjectId.get(lesson.getCohortSubject().getId());
+            ScheduledClass sc = available != null ? available.poll() : null;
+            if (sc == null) {
+                continue;
             }
 
-            log.info("Injected {} pinned LessonAssignments into planning problem", pinnedClasses.size());
+            TimeslotInfo timeslot = timeslotById.get(sc.getTimeslot().getId());
+            RoomInfo room = roomById.get(sc.getRoom().getId());
+            if (timeslot != null && room != null) {
+                lesson.setTimeslot(timeslot);
+                lesson.setRoom(room);
+                seeded++;
+                if (lockedIds.contains(sc.getId())) {
+                    lesson.setLocked(true);
+                    locked++;
+                }
+            }
         }
 
-        SolverJob<TimetableSolution, UUID> job = solverManager.solve(jobId, problem);
-        jobs.put(jobId, job);
-        return jobId;
+        log.info("Warm start: {}/{} lessons seeded from {} persisted classes, {} locked",
+                seeded, problem.getLessonAssignments().size(), persisted.size(), locked);
     }
 }
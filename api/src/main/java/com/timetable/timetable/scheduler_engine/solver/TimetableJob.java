@@ -0,0 +1,132 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * A job tracked by {@link TimetableSolverService} from the moment it is
+ * accepted: its state, how long each stage took and, once the solver runs,
+ * its SolverJob.
+ */
+@Getter
+public class TimetableJob {
+
+    public enum State {
+        /** Waiting in the SolverJobQueue */
+        QUEUED,
+        /** Pre-solver preparation and problem build */
+        PREPARING,
+        SOLVING,
+        /** Saving the final solution */
+        PERSISTING,
+        DONE,
+        FAILED
+    }
+
+    /** Timed stages, each run in one state */
+    public enum Stage {
+        PREPARATION(State.PREPARING),
+        PROBLEM_BUILD(State.PREPARING),
+        SOLVE(State.SOLVING),
+        PERSIST(State.PERSISTING);
+
+        private final State state;
+
+        Stage(State state) {
+            this.state = state;
+        }
+    }
+
+    private final UUID jobId;
+
+    /** False for /solver/test jobs, whose solution is never persisted */
+    private final boolean persistent;
+
+    private volatile SolverJob<TimetableSolution, UUID> solverJob;
+    /** Set by the solver's final best solution consumer */
+    private volatile TimetableSolution finalSolution;
+    private volatile State state;
+    private volatile String error;
+    private volatile boolean terminatedEarly;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Stage, Long> stageStartNanos = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Stage, Long> stageMillis = new ConcurrentHashMap<>();
+
+    TimetableJob(UUID jobId, boolean persistent, State state) {
+        this.jobId = jobId;
+        this.persistent = persistent;
+        this.state = state;
+    }
+
+    public SolverStatus getSolverStatus() {
+        SolverJob<TimetableSolution, UUID> job = solverJob;
+        return job != null ? job.getSolverStatus() : null;
+    }
+
+    /**
+     * Duration of each stage already finished, in milliseconds
+     */
+    public Map<Stage, Long> getStageMillis() {
+        Map<Stage, Long> millis = new EnumMap<>(Stage.class);
+        millis.putAll(stageMillis);
+        return millis;
+    }
+
+    void attach(SolverJob<TimetableSolution, UUID> solverJob) {
+        this.solverJob = solverJob;
+    }
+
+    void finalSolution(TimetableSolution solution) {
+        this.finalSolution = solution;
+    }
+
+    void markTerminatedEarly() {
+        this.terminatedEarly = true;
+    }
+
+    /**
+     * Starts a stage, unless it is already running (the partitioned solve
+     * begins SOLVE before the repair solver does).
+     */
+    void begin(Stage stage) {
+        stageStartNanos.putIfAbsent(stage, System.nanoTime());
+        this.state = stage.state;
+    }
+
+    /**
+     * Ends a stage started with {@link #begin}.
+     *
+     * @return its duration in milliseconds, or -1 if it was not running
+     */
+    long end(Stage stage) {
+        Long start = stageStartNanos.remove(stage);
+        if (start == null) {
+            return -1;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        stageMillis.put(stage, millis);
+        return millis;
+    }
+
+    void done() {
+        this.state = State.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.state = State.FAILED;
+    }
+}
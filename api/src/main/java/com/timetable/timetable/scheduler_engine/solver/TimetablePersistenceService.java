@@ -1,12 +1,15 @@
 package com.timetable.timetable.scheduler_engine.solver;
 
+import com.timetable.timetable.config.SchedulerProperties;
 import com.timetable.timetable.domain.schedule.entity.*;
+import com.timetable.timetable.domain.schedule.event.ScheduledClassesChangedEvent;
 import com.timetable.timetable.domain.schedule.repository.ScheduledClassRepository;
 import com.timetable.timetable.domain.schedule.repository.TimetableRepository;
 import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
 import com.timetable.timetable.scheduler_engine.mapper.PersistenceMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,9 +27,25 @@ public class TimetablePersistenceService {
     private final TimetableRepository timetableRepository;
     private final PersistenceMapper persistenceMapper;
     private final ScheduledClassRepository scheduledClassRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledClassBatchWriter batchWriter;
+    private final SchedulerProperties schedulerProperties;
 
     @Transactional
     public Timetable saveSolution(TimetableSolution solution) {
+        return save(solution, false);
+    }
+
+    /**
+     * Writes an intermediate solution of a running job. Unlike
+     * {@link #saveSolution}, the manual edits of the period stay tracked.
+     */
+    @Transactional
+    public Timetable saveCheckpoint(TimetableSolution solution) {
+        return save(solution, true);
+    }
+
+    private Timetable save(TimetableSolution solution, boolean checkpoint) {
         int year = solution.getAcademicYear();
         int semester = solution.getSemester();
 
@@ -44,20 +63,54 @@ public class TimetablePersistenceService {
                                 .status(TimetableStatus.DRAFT)
                                 .build()));
 
-        // Apaga apenas os ScheduledClass NÃO pinned — preserva os pinned da Simulação
-        scheduledClassRepository.deleteByTimetableAndPinnedFalse(timetable);
-
         // Converte APENAS os não-pinned — os pinned já estão na DB
         List<ScheduledClass> classes = persistenceMapper.convertToScheduledClasses(
                 solution, timetable);
 
-        scheduledClassRepository.saveAll(classes);
+        SchedulerProperties.Persistence persistence = schedulerProperties.getPersistence();
+        if (persistence.isJdbcBatchEnabled() && persistence.isDiffEnabled()) {
+            writeDiff(timetable, classes);
+        } else {
+            // Apaga apenas os ScheduledClass NÃO pinned — preserva os pinned da Simulação
+            int deleted = scheduledClassRepository.deleteUnpinnedByTimetable(timetable);
+            log.debug("Deleted {} unpinned scheduled classes of {}.{}", deleted, year, semester);
+
+            if (persistence.isJdbcBatchEnabled()) {
+                batchWriter.insertAll(classes);
+            } else {
+                scheduledClassRepository.saveAll(classes);
+            }
+        }
 
         timetable.setStatus(TimetableStatus.DRAFT);
         Timetable saved = timetableRepository.save(timetable);
+        eventPublisher.publishEvent(checkpoint
+                ? ScheduledClassesChangedEvent.checkpointed(saved)
+                : ScheduledClassesChangedEvent.rewritten(saved));
 
         log.info("Saved timetable id={} for {}.{} with {} scheduled classes",
                 saved.getId(), year, semester, classes.size());
         return saved;
     }
+
+    /**
+     * Rewrites only the scheduled classes that moved, keeping the ids of the
+     * others (and of the moved ones) stable.
+     */
+    private void writeDiff(Timetable timetable, List<ScheduledClass> classes) {
+        // O JDBC não vê alterações pendentes no contexto de persistência
+        timetableRepository.flush();
+
+        List<ScheduledClassDiff.Row> target = classes.stream()
+                .map(sc -> new ScheduledClassDiff.Row(
+                        null,
+                        sc.getCohortSubject().getId(),
+                        sc.getTimeslot() != null ? sc.getTimeslot().getId() : null,
+                        sc.getRoom() != null ? sc.getRoom().getId() : null))
+                .toList();
+
+        ScheduledClassDiff diff = ScheduledClassDiff.compute(
+                batchWriter.findUnpinnedPlacements(timetable.getId()), target);
+        batchWriter.apply(timetable.getId(), diff);
+    }
 }
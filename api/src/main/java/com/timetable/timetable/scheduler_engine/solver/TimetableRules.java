@@ -0,0 +1,96 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+
+/**
+ * Static scheduling rules shared by the constraint provider and the
+ * permutation move evaluator, so both paths judge a placement the same way.
+ */
+public final class TimetableRules {
+
+    /** Missa de sexta, em minutos desde a meia-noite (8:50-9:40) */
+    private static final int MASS_START_MINUTE = 8 * 60 + 50;
+    private static final int MASS_END_MINUTE = 9 * 60 + 40;
+    private static final int FRIDAY = DayOfWeek.FRIDAY.getValue();
+
+    /** Maximum gap (minutes) between two blocks for them to count as consecutive */
+    private static final int CONSECUTIVE_GAP_MINUTES = 10;
+
+    private TimetableRules() {
+    }
+
+    /**
+     * HC6: odd years study in the morning, even years in the afternoon.
+     */
+    public static boolean isPeriodAllowedForYear(int year, TimePeriod period) {
+        boolean isOddYear = year % 2 != 0;
+
+        if (isOddYear) {
+            return period == TimePeriod.MORNING;
+        } else {
+            return period == TimePeriod.AFTERNOON;
+        }
+    }
+
+    public static boolean isSameDay(TimeslotInfo a, TimeslotInfo b) {
+        return a.getDayNumber() == b.getDayNumber();
+    }
+
+    /**
+     * HC7: two blocks are consecutive if they are on the same day and the gap
+     * between them is at most 10 minutes, in either order. A single bit test
+     * when the problem's consecutive table was built ({@link #withConsecutiveTable}).
+     */
+    public static boolean areConsecutive(TimeslotInfo a, TimeslotInfo b) {
+        if (a.hasConsecutiveTable()) {
+            return a.isConsecutiveWith(b.getIndex());
+        }
+        return isSameDay(a, b) && areConsecutiveByTime(a, b);
+    }
+
+    /**
+     * Returns the timeslots with their HC7 consecutive table, so that
+     * {@link #areConsecutive} becomes a lookup by index. The grid is fixed
+     * during a solve, so this runs once per problem, after the indexes are
+     * assigned.
+     */
+    public static List<TimeslotInfo> withConsecutiveTable(List<TimeslotInfo> timeslots) {
+        List<TimeslotInfo> linked = new ArrayList<>(timeslots.size());
+        for (TimeslotInfo a : timeslots) {
+            BitSet consecutive = new BitSet();
+            for (TimeslotInfo b : timeslots) {
+                if (a != b && isSameDay(a, b) && areConsecutiveByTime(a, b)) {
+                    consecutive.set(b.getIndex());
+                }
+            }
+            linked.add(a.toBuilder().consecutiveIndexes(consecutive).build());
+        }
+        return linked;
+    }
+
+    private static boolean areConsecutiveByTime(TimeslotInfo a, TimeslotInfo b) {
+        int gap1 = b.getStartMinute() - a.getEndMinute();
+        int gap2 = a.getStartMinute() - b.getEndMinute();
+
+        return (gap1 >= 0 && gap1 <= CONSECUTIVE_GAP_MINUTES)
+                || (gap2 >= 0 && gap2 <= CONSECUTIVE_GAP_MINUTES);
+    }
+
+    /**
+     * HC8: Friday slots that overlap with mass (8:50-9:40) are blocked.
+     */
+    public static boolean isMassBlocked(TimeslotInfo timeslot) {
+        return timeslot.getDayNumber() == FRIDAY
+                && overlapsWithMass(timeslot.getStartMinute(), timeslot.getEndMinute());
+    }
+
+    private static boolean overlapsWithMass(int startMinute, int endMinute) {
+        return startMinute < MASS_END_MINUTE && endMinute > MASS_START_MINUTE;
+    }
+}
@@ -1,5 +1,7 @@
 package com.timetable.timetable.scheduler_engine.solver;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import com.timetable.timetable.domain.schedule.dto.CohortEstimationConfig;
@@ -9,8 +11,10 @@ import com.timetable.timetable.domain.schedule.dto.PreSolverRequest;
 import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import ai.timefold.solver.core.api.solver.SolverStatus;
 
@@ -47,6 +51,8 @@ public class TimetableSolverController {
     /**
      * Preparação + Geração TOTALMENTE async
      * Retorna UUID imediatamente (<50ms)
+     * Optional "profile": a solver profile of scheduler.solver.profiles
+     * (e.g. FAST_DRAFT, BALANCED, OVERNIGHT); 400 if unknown.
      */
     @PostMapping("/generate")
     public ResponseEntity<GenerationStartedResponse> generate(
@@ -61,7 +67,8 @@ public class TimetableSolverController {
         GenerationStartResult result = solverService.prepareAndGenerateAsync(
                 request.academicYear(),
                 request.semester(),
-                prepRequest);
+                prepRequest,
+                request.profile());
 
         return ResponseEntity.accepted().body(
                 new GenerationStartedResponse(
@@ -69,30 +76,72 @@ public class TimetableSolverController {
                         "Preparation and generation started in background. Poll /status/" + result.jobId()));
     }
 
+    /**
+     * Resume solving a period from its last persisted timetable (checkpoint),
+     * e.g. after a restart interrupted a job.
+     */
+    @PostMapping("/resume")
+    public ResponseEntity<GenerationStartedResponse> resume(@RequestBody GenerateRequest request) {
+        UUID jobId = solverService.resumeAsync(request.academicYear(), request.semester(), request.profile());
+
+        return ResponseEntity.accepted().body(
+                new GenerationStartedResponse(
+                        jobId,
+                        "Solving resumed from the last checkpoint. Poll /status/" + jobId));
+    }
+
+    /**
+     * Repair a period after manual edits: a short Local Search from the
+     * persisted timetable. Classes edited by hand since the last solve, plus
+     * the optional lockedScheduledClassIds, stay where they are.
+     */
+    @PostMapping("/repair")
+    public ResponseEntity<GenerationStartedResponse> repair(@RequestBody RepairRequest request) {
+        UUID jobId = solverService.repairAsync(request.academicYear(), request.semester(),
+                request.lockedScheduledClassIds() != null ? request.lockedScheduledClassIds() : Set.of());
+
+        return ResponseEntity.accepted().body(
+                new GenerationStartedResponse(
+                        jobId,
+                        "Repair started from the persisted timetable. Poll /status/" + jobId));
+    }
+
     /**
      * Get the solution for a solver job (if ready).
      * 
      * Returns:
-     * - 202 Accepted - Still solving (poll again)
-     * - 200 OK - Solution ready (with JSON body)
+     * - 202 Accepted - Queued, solving or persisting (poll again)
+     * - 200 OK - Solution ready and persisted (with JSON body)
      * - 404 Not Found - Job ID doesn't exist
+     * - 500 Internal Server Error - Job failed; the body carries its error
      * 
      * @param jobId The job ID from the start request
-     * @return The solution (or 202 if still solving)
+     * @return The solution (or 202 while the job is running)
      */
     @GetMapping("/{jobId}")
     public ResponseEntity<?> getSolution(@PathVariable UUID jobId) {
+        // Lido antes: getSolution esquece os jobs DONE e FAILED
+        TimetableJob job = solverService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+
         TimetableSolution solution = solverService.getSolution(jobId);
 
         if (solution == null) {
-            SolverStatus status = solverService.getStatus(jobId);
+            if (job.getState() == TimetableJob.State.FAILED) {
+                // Estado terminal — o cliente deve parar de consultar
+                return ResponseEntity.internalServerError()
+                        .body(JobStatusResponse.of(job, job.getError()));
+            }
 
-            if (status == null) {
-                return ResponseEntity.notFound().build();
+            Integer position = solverService.getQueuePosition(jobId);
+            if (position != null) {
+                return ResponseEntity.accepted().body(JobStatusResponse.queued(job, position));
             }
 
             return ResponseEntity.accepted()
-                    .body(new JobStatusResponse(jobId, status.toString(), null, null));
+                    .body(JobStatusResponse.of(job, null));
         }
 
         log.info("Returning solution for job {}. Score: {}, Feasible: {}",
@@ -101,45 +150,74 @@ public class TimetableSolverController {
         return ResponseEntity.ok(solution);
     }
 
+    /**
+     * Stream the progress of a solver job as Server-Sent Events
+     * (phase, best-solution, terminated, error) instead of polling.
+     *
+     * @param jobId The job ID
+     * @return The event stream, or 404 if the job is unknown
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@PathVariable UUID jobId) {
+        SseEmitter emitter = solverService.subscribeToProgress(jobId);
+
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(emitter);
+    }
+
     /**
      * Get the current status of a solver job.
+     * Jobs still waiting in the solver queue report QUEUED and their position;
+     * before the solver starts, status is the job state (PREPARING, FAILED).
      * 
      * @param jobId The job ID
      * @return Status information
      */
     @GetMapping("/{jobId}/status")
     public ResponseEntity<JobStatusResponse> getStatus(@PathVariable UUID jobId) {
-        SolverStatus status = solverService.getStatus(jobId);
+        TimetableJob job = solverService.getJob(jobId);
 
-        if (status == null) {
+        if (job == null) {
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(new JobStatusResponse(
-                jobId,
-                status.toString(),
-                null,
-                "Use GET /api/v1/solver/test/" + jobId + " to retrieve the solution when status is NOT_SOLVING"));
+        Integer position = solverService.getQueuePosition(jobId);
+        if (position != null) {
+            return ResponseEntity.ok(JobStatusResponse.queued(job, position));
+        }
+
+        String message = job.getError() != null
+                ? job.getError()
+                : "Use GET /api/v1/solver/" + jobId + " to retrieve the solution when state is DONE";
+
+        return ResponseEntity.ok(JobStatusResponse.of(job, message));
     }
 
     /**
      * Terminate a solver job before it finishes naturally.
      * Useful if you realize the problem is too large or want to stop early.
+     * The best solution found so far is persisted if every lesson is assigned.
+     * A job still queued or preparing is cancelled before it solves anything.
      * 
      * @param jobId The job ID to terminate
      * @return Confirmation message
      */
     @PostMapping("/{jobId}/terminate")
     public ResponseEntity<String> terminateJob(@PathVariable UUID jobId) {
-        SolverStatus status = solverService.getStatus(jobId);
+        TimetableJob job = solverService.getJob(jobId);
 
-        if (status == null) {
+        if (job == null) {
             return ResponseEntity.notFound().build();
         }
 
-        if (status == SolverStatus.NOT_SOLVING) {
+        if (job.getState() == TimetableJob.State.DONE
+                || job.getState() == TimetableJob.State.FAILED
+                || job.getSolverStatus() == SolverStatus.NOT_SOLVING) {
             return ResponseEntity.badRequest()
-                    .body("Job " + jobId + " is already finished (status: " + status + ")");
+                    .body("Job " + jobId + " is already finished (state: " + job.getState() + ")");
         }
 
         solverService.terminateEarly(jobId);
@@ -160,13 +238,46 @@ public class TimetableSolverController {
     record GenerationStartedResponse(UUID jobId, String message) {
     }
 
-    record GenerateRequest(int academicYear, int semester) {
+    record GenerateRequest(int academicYear, int semester, String profile) {
+    }
+
+    record RepairRequest(int academicYear, int semester, Set<Long> lockedScheduledClassIds) {
     }
 
     record JobStatusResponse(
             UUID jobId,
-            String status,
+            String status, // estado do solver, ou do job antes de o solver arrancar
             String score,
+            String state, // QUEUED, PREPARING, SOLVING, PERSISTING, DONE, FAILED
+            Integer queuePosition, // só enquanto QUEUED
+            Long preparationMs,
+            Long problemBuildMs,
+            Long solveMs,
+            Long persistMs,
             String message) {
+
+        static JobStatusResponse of(TimetableJob job, String message) {
+            return of(job, null, message);
+        }
+
+        static JobStatusResponse queued(TimetableJob job, int position) {
+            return of(job, position, "Waiting in the solver queue, position " + position);
+        }
+
+        private static JobStatusResponse of(TimetableJob job, Integer queuePosition, String message) {
+            SolverStatus solverStatus = job.getSolverStatus();
+            Map<TimetableJob.Stage, Long> millis = job.getStageMillis();
+            return new JobStatusResponse(
+                    job.getJobId(),
+                    solverStatus != null ? solverStatus.toString() : job.getState().toString(),
+                    null,
+                    job.getState().toString(),
+                    queuePosition,
+                    millis.get(TimetableJob.Stage.PREPARATION),
+                    millis.get(TimetableJob.Stage.PROBLEM_BUILD),
+                    millis.get(TimetableJob.Stage.SOLVE),
+                    millis.get(TimetableJob.Stage.PERSIST),
+                    message);
+        }
     }
 }
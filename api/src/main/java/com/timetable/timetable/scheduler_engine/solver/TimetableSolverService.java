@@ -2,23 +2,32 @@ package com.timetable.timetable.scheduler_engine.solver;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.springframework.stereotype.Service;
-import ai.timefold.solver.core.api.solver.SolverManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
 import ai.timefold.solver.core.api.solver.SolverStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import com.timetable.timetable.common.exception.TooManyRequestsException;
+import com.timetable.timetable.config.SchedulerProperties;
 import com.timetable.timetable.domain.schedule.dto.GenerationStartResult;
 import com.timetable.timetable.domain.schedule.dto.PreSolverRequest;
 import com.timetable.timetable.domain.schedule.dto.PreSolverResult;
 import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.mapper.TimetableSolutionMapper;
 import com.timetable.timetable.scheduler_engine.preparation.PreSolverService;
 
 @Service
@@ -27,13 +36,28 @@ import com.timetable.timetable.scheduler_engine.preparation.PreSolverService;
 public class TimetableSolverService {
 
     private final SolverManager<TimetableSolution, UUID> solverManager;
-    private final Map<UUID, SolverJob<TimetableSolution, UUID>> jobs = new ConcurrentHashMap<>();
+    private final SolverManager<TimetableSolution, UUID> repairSolverManager;
+    private final Map<UUID, TimetableJob> jobs = new ConcurrentHashMap<>();
 
     private final PreSolverService preSolverService;
     private final TimetableGeneratorService timetableGeneratorService;
     private final TimetablePersistenceService persistenceService; // ← NEW
+    private final SolverProgressPublisher progressPublisher;
+    private final SolverCheckpointService checkpointService;
+    private final ManualEditTracker manualEditTracker;
+    private final PartitionedSolver partitionedSolver;
+    private final SchedulerProperties schedulerProperties;
+    private final TimetableSolutionMapper solutionMapper;
+    private final SolverProfiles solverProfiles;
+    private final SolverJobQueue jobQueue;
+    private final SolverJobMetrics jobMetrics;
 
-    private final ExecutorService asyncExecutor = Executors.newCachedThreadPool();
+    // Grava as soluções finais fora dos pedidos HTTP, uma de cada vez
+    private final ExecutorService persistExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "solution-persist");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Test only — raw JSON input, no persistence
@@ -41,91 +65,350 @@ public class TimetableSolverService {
     public UUID startSolverJob(TimetableSolution problem) {
         UUID jobId = UUID.randomUUID();
         log.info("Starting test solver job with ID: {}", jobId);
-        jobs.put(jobId, solverManager.solve(jobId, problem));
+        TimetableJob job = new TimetableJob(jobId, false, TimetableJob.State.PREPARING);
+        jobs.put(jobId, job);
+        progressPublisher.register(jobId, SolverProgressPublisher.PHASE_CONSTRUCTION_HEURISTIC);
+        // Os índices das constraints não vêm no JSON
+        launch(solverManager, job, solutionMapper.reindex(problem));
         return jobId;
     }
 
     /**
-     * Called repeatedly by the frontend until the solver finishes.
-     *
-     * When the solver is done (NOT_SOLVING):
-     * 1. Retrieves the best solution from the job
-     * 2. Persists it to Timetable + ScheduledClass via TimetablePersistenceService
-     * 3. Removes the job from memory
-     * 4. Returns the solution so the controller can forward it (or just the
-     * score/feasibility)
-     *
-     * Returns null while still solving or if jobId is unknown.
+     * Submits the problem to the SolverManager, streaming every new best
+     * solution and the termination to the job's SSE subscribers. The final
+     * solution of a persistent job is saved as soon as the solver terminates.
+     */
+    private void launch(SolverManager<TimetableSolution, UUID> manager, TimetableJob job,
+            TimetableSolution problem) {
+        checkNotTerminated(job);
+        UUID jobId = job.getJobId();
+        boolean persistent = job.isPersistent();
+        job.begin(TimetableJob.Stage.SOLVE);
+
+        job.attach(manager.solveBuilder()
+                .withProblemId(jobId)
+                .withProblem(problem)
+                .withBestSolutionConsumer(solution -> {
+                    progressPublisher.bestSolution(jobId, solution);
+                    if (persistent) {
+                        checkpointService.offer(jobId, solution);
+                    }
+                })
+                .withFinalBestSolutionConsumer(solution -> {
+                    // Guardada no job: este consumer pode correr antes do attach
+                    job.finalSolution(solution);
+                    endStage(job, TimetableJob.Stage.SOLVE);
+                    progressPublisher.terminated(jobId, solution);
+                    if (persistent) {
+                        persistExecutor.submit(() -> persistFinalSolution(job, solution));
+                    } else {
+                        job.done();
+                        jobMetrics.finished(job);
+                    }
+                })
+                .withExceptionHandler((id, throwable) -> {
+                    log.error("Solver failed for job {}: {}", id, throwable.getMessage(), throwable);
+                    checkpointService.close(id);
+                    endStage(job, TimetableJob.Stage.SOLVE);
+                    fail(job, "Solver failed: " + throwable.getMessage());
+                    progressPublisher.failed(id, throwable);
+                })
+                .run());
+
+        if (job.isTerminatedEarly()) {
+            // Terminado entre a verificação acima e o attach
+            job.getSolverJob().terminateEarly();
+        }
+    }
+
+    private void persistFinalSolution(TimetableJob job, TimetableSolution solution) {
+        UUID jobId = job.getJobId();
+        log.info("Solver done for job {}. Score: {} | Feasible: {} | Unassigned: {}",
+                jobId, solution.getScore(), solution.isFeasible(), solution.getUnassignedLessons());
+
+        // Espera por um checkpoint em curso, para não sobrepor a solução final
+        checkpointService.close(jobId);
+
+        if (job.isTerminatedEarly() && solution.getUnassignedLessons() > 0) {
+            log.warn("Job {} terminated during construction ({} unassigned) — nothing persisted",
+                    jobId, solution.getUnassignedLessons());
+            fail(job, "Terminated before every lesson was assigned — nothing persisted");
+            return;
+        }
+
+        job.begin(TimetableJob.Stage.PERSIST);
+        try {
+            persistenceService.saveSolution(solution);
+            endStage(job, TimetableJob.Stage.PERSIST);
+            job.done();
+            jobMetrics.finished(job);
+            jobQueue.release(jobId);
+        } catch (Exception e) {
+            log.error("Failed to persist solution for job {}: {}", jobId, e.getMessage(), e);
+            endStage(job, TimetableJob.Stage.PERSIST);
+            fail(job, e.getMessage());
+        }
+    }
+
+    /**
+     * Times a stage of the job, then runs it.
+     */
+    private <T> T timed(TimetableJob job, TimetableJob.Stage stage, Callable<T> work) throws Exception {
+        checkNotTerminated(job);
+        job.begin(stage);
+        try {
+            return work.call();
+        } finally {
+            endStage(job, stage);
+        }
+    }
+
+    private void endStage(TimetableJob job, TimetableJob.Stage stage) {
+        long millis = job.end(stage);
+        if (millis >= 0) {
+            jobMetrics.stage(stage, millis);
+        }
+    }
+
+    private void fail(TimetableJob job, String error) {
+        job.failed(error);
+        jobMetrics.finished(job);
+        jobQueue.release(job.getJobId());
+    }
+
+    /**
+     * Returns the final solution once the job is DONE — for a persistent job,
+     * once the solution is saved — or null while it is still running, if it
+     * failed, or if jobId is unknown. A DONE or FAILED job is forgotten here,
+     * so callers must read the job (and its error) before calling this.
      */
     public TimetableSolution getSolution(UUID jobId) {
-        SolverJob<TimetableSolution, UUID> job = jobs.get(jobId);
+        TimetableJob job = jobs.get(jobId);
         if (job == null) {
             log.warn("Job {} not found", jobId);
             return null;
         }
 
-        if (job.getSolverStatus() != SolverStatus.NOT_SOLVING) {
+        if (job.getState() == TimetableJob.State.FAILED) {
+            forget(jobId);
             return null;
         }
 
-        try {
-            TimetableSolution solution = job.getFinalBestSolution();
-            log.info("Solver done for job {}. Score: {} | Feasible: {} | Unassigned: {}",
-                    jobId, solution.getScore(), solution.isFeasible(), solution.getUnassignedLessons());
-
-            try {
-                persistenceService.saveSolution(solution);
-            } catch (Exception e) {
-                log.error("Failed to persist solution for job {}: {}", jobId, e.getMessage(), e);
-            }
-
-            jobs.remove(jobId);
-            return solution;
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Thread interrupted retrieving solution for job {}", jobId, e);
-        } catch (ExecutionException e) {
-            log.error("Error retrieving solution for job {}", jobId, e);
+        // Ainda em fila, a resolver ou a gravar
+        if (job.getState() != TimetableJob.State.DONE) {
+            return null;
         }
 
-        return null;
+        forget(jobId);
+        return job.getFinalSolution();
     }
 
     /**
-     * Async prepare + generate
+     * Async prepare + generate, with the given solver profile (null = default).
+     * Partitioned solving has its own limits and ignores the profile.
+     * Goes through the SolverJobQueue: a period whose generation is not DONE
+     * or FAILED yet returns that job instead, another kind of job in progress
+     * is a conflict (409), and a full queue is rejected (429).
      */
     public GenerationStartResult prepareAndGenerateAsync(
             int academicYear,
             int semester,
-            PreSolverRequest prepRequest) {
+            PreSolverRequest prepRequest,
+            String profile) {
 
+        // Valida o perfil antes de aceitar o pedido
+        SolverManager<TimetableSolution, UUID> manager = solverProfiles.managerFor(profile);
         UUID jobId = UUID.randomUUID();
-        log.info("Starting ASYNC prep + generation for job {}", jobId);
-
-        asyncExecutor.submit(() -> {
-            try {
-                preSolverService.prepare(prepRequest);
-                log.info("Pre-solver done for job {}. Starting solver...", jobId);
-                timetableGeneratorService.generateTimetable(academicYear, semester, jobId, jobs);
-            } catch (Exception e) {
-                log.error("Error in async prep for job {}: {}", jobId, e.getMessage(), e);
+        log.info("Queuing prep + generation for job {} (profile {})", jobId, solverProfiles.resolve(profile));
+
+        UUID queuedId = enqueue(jobId, SolverJobQueue.Kind.GENERATE, academicYear, semester, job -> {
+            timed(job, TimetableJob.Stage.PREPARATION, () -> preSolverService.prepare(prepRequest));
+            log.info("Pre-solver done for job {}. Starting solver...", jobId);
+            TimetableSolution problem = timed(job, TimetableJob.Stage.PROBLEM_BUILD,
+                    () -> timetableGeneratorService.buildProblem(academicYear, semester));
+            if (schedulerProperties.getSolver().getPartitioned().isEnabled()) {
+                solvePartitioned(job, problem);
+            } else {
+                launch(manager, job, problem);
             }
         });
 
-        return new GenerationStartResult(
-                jobId,
-                new PreSolverResult(0, 0, 0, List.of("preparation running in the background")));
+        Integer position = jobQueue.position(queuedId);
+        String message = !queuedId.equals(jobId)
+                ? "a job for this period is already in progress"
+                : position != null
+                        ? "queued at position " + position
+                        : "preparation running in the background";
+        return new GenerationStartResult(queuedId, new PreSolverResult(0, 0, 0, List.of(message)));
+    }
+
+    /**
+     * Queues the background work of a job (see SolverJobQueue). The job is
+     * tracked as QUEUED from now on, and as FAILED if the work throws. Returns
+     * the id of the period's job of the same kind still in progress, if any,
+     * instead of jobId; a job of another kind is a conflict (409).
+     */
+    private UUID enqueue(UUID jobId, SolverJobQueue.Kind kind, int academicYear, int semester, JobWork work) {
+        TimetableJob job = new TimetableJob(jobId, true, TimetableJob.State.QUEUED);
+        jobs.put(jobId, job);
+        progressPublisher.register(jobId, SolverProgressPublisher.PHASE_PREPARING);
+        UUID queuedId;
+        try {
+            queuedId = jobQueue.submit(jobId, kind, academicYear, semester, () -> {
+                try {
+                    work.run(job);
+                } catch (Exception e) {
+                    log.error("Error in background work of job {}: {}", jobId, e.getMessage(), e);
+                    fail(job, e.getMessage());
+                    progressPublisher.failed(jobId, e);
+                }
+            });
+        } catch (TooManyRequestsException e) {
+            forget(jobId);
+            throw e;
+        }
+        if (!queuedId.equals(jobId)) {
+            forget(jobId);
+        }
+        return queuedId;
+    }
+
+    private void forget(UUID jobId) {
+        jobs.remove(jobId);
+        progressPublisher.forget(jobId);
+    }
+
+    @FunctionalInterface
+    private interface JobWork {
+        void run(TimetableJob job) throws Exception;
+    }
+
+    /**
+     * 1-based position of a job waiting in the solver queue, or null.
+     */
+    public Integer getQueuePosition(UUID jobId) {
+        return jobQueue.position(jobId);
+    }
+
+    /**
+     * Solves the independent partitions of the problem concurrently, then
+     * polishes the merged solution with the repair solver, which owns the job
+     * from then on (progress, persistence, status).
+     */
+    private void solvePartitioned(TimetableJob job, TimetableSolution problem)
+            throws InterruptedException, ExecutionException {
+        // O tempo das partições conta para o SOLVE, que o launch continua
+        job.begin(TimetableJob.Stage.SOLVE);
+        PartitionedSolver.Result result = partitionedSolver.solve(job.getJobId(), problem);
+        launch(repairSolverManager, job, result.solution());
+        if (result.terminatedEarly()) {
+            // Parado durante as partições — salta o polimento
+            terminateEarly(job.getJobId());
+        }
+    }
+
+    /**
+     * Resumes solving a period from its last persisted timetable, e.g. the last
+     * checkpoint of a job lost to a restart. No pre-solver preparation is run.
+     * Returns the period's resume job already in progress, if any; any other
+     * job in progress for the period is a conflict (409).
+     */
+    public UUID resumeAsync(int academicYear, int semester, String profile) {
+        SolverManager<TimetableSolution, UUID> manager = solverProfiles.managerFor(profile);
+        UUID jobId = UUID.randomUUID();
+        log.info("Resuming {}.{} from the last checkpoint as job {} (profile {})",
+                academicYear, semester, jobId, solverProfiles.resolve(profile));
+
+        return enqueue(jobId, SolverJobQueue.Kind.RESUME, academicYear, semester, job -> launch(manager, job,
+                timed(job, TimetableJob.Stage.PROBLEM_BUILD,
+                        () -> timetableGeneratorService.buildWarmStartProblem(academicYear, semester))));
+    }
+
+    /**
+     * Repairs a period after manual edits with the short repair solver. The
+     * classes edited by hand since the last solver write, and the given ones,
+     * are locked in place. Never merged with another job: any job in progress
+     * for the period, even a repair, is a conflict (409).
+     */
+    public UUID repairAsync(int academicYear, int semester, Set<Long> lockedScheduledClassIds) {
+        Set<Long> locked = manualEditTracker.editedSinceLastSolve(academicYear, semester);
+        locked.addAll(lockedScheduledClassIds);
+
+        UUID jobId = UUID.randomUUID();
+        log.info("Repairing {}.{} as job {} ({} classes locked)", academicYear, semester, jobId, locked.size());
+
+        return enqueue(jobId, SolverJobQueue.Kind.REPAIR, academicYear, semester, job -> launch(repairSolverManager, job,
+                timed(job, TimetableJob.Stage.PROBLEM_BUILD,
+                        () -> timetableGeneratorService.buildRepairProblem(academicYear, semester, locked))));
+    }
+
+    /**
+     * Opens the progress stream of a job, or returns null if the job is unknown.
+     */
+    public SseEmitter subscribeToProgress(UUID jobId) {
+        return progressPublisher.subscribe(jobId);
     }
 
     public SolverStatus getStatus(UUID jobId) {
-        SolverJob<TimetableSolution, UUID> job = jobs.get(jobId);
+        TimetableJob job = jobs.get(jobId);
         return job != null ? job.getSolverStatus() : null;
     }
 
-    public void terminateEarly(UUID jobId) {
+    public TimetableJob getJob(UUID jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Stops a job. Its best solution so far is then persisted like any final
+     * solution, unless the construction heuristic had not assigned every lesson.
+     * A job still in the queue is removed from it; one still preparing stops
+     * before its next stage, without solving. Both end FAILED.
+     *
+     * @return false if jobId is unknown
+     */
+    public boolean terminateEarly(UUID jobId) {
         log.info("Terminating solver job {} early", jobId);
-        solverManager.terminateEarly(jobId);
-        jobs.remove(jobId);
+        if (partitionedSolver.terminateEarly(jobId)) {
+            return true;
+        }
+        TimetableJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.markTerminatedEarly();
+
+        if (jobQueue.cancel(jobId)) {
+            CancellationException cancelled = new CancellationException("Terminated while queued");
+            fail(job, cancelled.getMessage());
+            progressPublisher.failed(jobId, cancelled);
+            return true;
+        }
+
+        // Pelo SolverJob, que pode ser do solver normal ou do de reparação
+        SolverJob<TimetableSolution, UUID> solverJob = job.getSolverJob();
+        if (solverJob != null) {
+            solverJob.terminateEarly();
+        }
+        return true;
+    }
+
+    /**
+     * Stops the background work of a job terminated before the solver started.
+     */
+    private static void checkNotTerminated(TimetableJob job) {
+        if (job.isTerminatedEarly() && job.getSolverJob() == null) {
+            throw new CancellationException("Terminated before the solver started");
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        jobMetrics.watch(jobs.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Deixa terminar a gravação em curso
+        persistExecutor.shutdown();
     }
 }
@@ -0,0 +1,78 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import lombok.Getter;
+
+/**
+ * A persisted timetable rebuilt as a planning solution, with the indexes the
+ * permutation endpoints evaluate moves against.
+ *
+ * Instances are shared between requests through {@link WorkingSolutionCache},
+ * so nothing in here may be mutated after construction.
+ */
+@Getter
+class WorkingSolution {
+
+    private final TimetableSolution solution;
+    private final HardSoftScore baselineScore;
+    private final MoveEvaluator evaluator;
+    private final OccupancyBitsets occupancy;
+    private final Map<Long, LessonAssignment> lessonsById;
+    private final Map<Long, TimeslotInfo> timeslotsById;
+    private final Map<Long, RoomInfo> roomsById;
+
+    WorkingSolution(TimetableSolution solution, HardSoftScore baselineScore) {
+        this.solution = solution;
+        this.baselineScore = baselineScore;
+        this.evaluator = new MoveEvaluator(solution.getLessonAssignments());
+        this.occupancy = new OccupancyBitsets(solution.getAvailableTimeslots(), solution.getLessonAssignments());
+        this.lessonsById = new HashMap<>();
+        for (LessonAssignment lesson : solution.getLessonAssignments()) {
+            lessonsById.put(lesson.getId(), lesson);
+        }
+        this.timeslotsById = new HashMap<>();
+        for (TimeslotInfo timeslot : solution.getAvailableTimeslots()) {
+            timeslotsById.put(timeslot.getId(), timeslot);
+        }
+        this.roomsById = new HashMap<>();
+        for (RoomInfo room : solution.getAvailableRooms()) {
+            roomsById.put(room.getId(), room);
+        }
+    }
+
+    LessonAssignment getLesson(Long scheduledClassId) {
+        LessonAssignment lesson = lessonsById.get(scheduledClassId);
+        if (lesson == null) {
+            throw new IllegalArgumentException("ScheduledClass not found: " + scheduledClassId);
+        }
+        return lesson;
+    }
+
+    TimeslotInfo getTimeslot(Long timeslotId) {
+        TimeslotInfo timeslot = timeslotsById.get(timeslotId);
+        if (timeslot == null) {
+            throw new IllegalArgumentException("Timeslot not found: " + timeslotId);
+        }
+        return timeslot;
+    }
+
+    RoomInfo getRoom(Long roomId) {
+        RoomInfo room = roomsById.get(roomId);
+        if (room == null) {
+            throw new IllegalArgumentException("Room not found: " + roomId);
+        }
+        return room;
+    }
+
+    int getBaselineHardScore() {
+        return baselineScore != null ? baselineScore.hardScore() : 0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.timetable.timetable.scheduler_engine.solver;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.domain.schedule.event.RoomsChangedEvent;
+import com.timetable.timetable.domain.schedule.event.ScheduledClassesChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded LRU cache of {@link WorkingSolution}s keyed by (academicYear, semester),
+ * so consecutive permutation queries on the same timetable skip the DB reload
+ * and the rebuild of the planning solution.
+ *
+ * Entries expire after the configured TTL and are dropped once the transaction
+ * that changed their scheduled classes commits. A change to the rooms drops
+ * every entry, since the rooms are shared by all periods.
+ */
+@Component
+@Slf4j
+public class WorkingSolutionCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // Access-ordered: the first entry is always the least recently used
+    private final LinkedHashMap<PeriodKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped on every invalidation, so a load that started before it is not cached
+    private final Map<PeriodKey, Long> generations = new HashMap<>();
+    private long globalGeneration;
+
+    @Autowired
+    public WorkingSolutionCache(SchedulerProperties properties) {
+        this(properties.getPermutation().getCache().getMaxEntries(),
+                properties.getPermutation().getCache().getTtl(),
+                Clock.systemUTC());
+    }
+
+    WorkingSolutionCache(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached solution for the period, or builds it with {@code loader}.
+     * The loader runs outside the cache lock, in the caller's transaction.
+     */
+    WorkingSolution get(int academicYear, int semester, Supplier<WorkingSolution> loader) {
+        PeriodKey key = new PeriodKey(academicYear, semester);
+        long generation;
+        long global;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && !isExpired(entry)) {
+                return entry.solution();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            generation = generations.getOrDefault(key, 0L);
+            global = globalGeneration;
+        }
+
+        log.debug("Working solution cache miss for {}.{}", academicYear, semester);
+        WorkingSolution loaded = loader.get();
+
+        synchronized (this) {
+            if (generations.getOrDefault(key, 0L) == generation && globalGeneration == global) {
+                entries.put(key, new Entry(loaded, clock.instant()));
+                evictOverflow();
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(int academicYear, int semester) {
+        PeriodKey key = new PeriodKey(academicYear, semester);
+        entries.remove(key);
+        generations.merge(key, 1L, Long::sum);
+        log.debug("Working solution cache invalidated for {}.{}", academicYear, semester);
+    }
+
+    /**
+     * Drops every entry, and keeps loads already in progress for any period
+     * (cached or not) from being cached.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        globalGeneration++;
+        log.debug("Working solution cache invalidated for all periods");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduledClassesChanged(ScheduledClassesChangedEvent event) {
+        invalidate(event.academicYear(), event.semester());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomsChanged(RoomsChangedEvent event) {
+        invalidateAll();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.loadedAt().plus(ttl).isBefore(clock.instant());
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<PeriodKey, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record PeriodKey(int academicYear, int semester) {
+    }
+
+    private record Entry(WorkingSolution solution, Instant loadedAt) {
+    }
+}
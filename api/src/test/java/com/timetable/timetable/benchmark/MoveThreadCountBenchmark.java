@@ -0,0 +1,94 @@
+package com.timetable.timetable.benchmark;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.solver.TimefoldConfig;
+
+/**
+ * Solves the medium generated problem (TimetableProblemGenerator) with the
+ * production solver config at several move thread counts and reports the
+ * score calculation speed and the time until the first feasible solution.
+ *
+ * Move threads are a Timefold Enterprise feature, so the application has no
+ * setting for them: without Enterprise on the test classpath every value
+ * but NONE is reported as unavailable.
+ *
+ * Run with: mvn -Pbenchmark test
+ */
+@Tag("benchmark")
+@DisplayName("Move thread count benchmark")
+class MoveThreadCountBenchmark {
+
+    private static final String[] MOVE_THREAD_COUNTS = { "NONE", "1", "2", "4", "8" };
+    private static final Duration TIME_LIMIT = Duration.ofSeconds(60);
+    private static final long SEED = 1L;
+
+    @Test
+    @DisplayName("Solve the medium problem with 1/2/4/8 move threads")
+    void compareMoveThreadCounts() throws Exception {
+        StringBuilder report = new StringBuilder("%n%-10s%22s%20s%18s".formatted(
+                "threads", "score calc/s", "time to feasible", "best score"));
+
+        int measured = 0;
+        for (String moveThreadCount : MOVE_THREAD_COUNTS) {
+            report.append("%n%-10s".formatted(moveThreadCount));
+            try {
+                Measurement m = solve(moveThreadCount);
+                report.append("%22d%20s%18s".formatted(m.scoreCalculationSpeed(),
+                        m.timeToFeasibleMillis() >= 0 ? m.timeToFeasibleMillis() + " ms" : "never",
+                        m.bestScore()));
+                measured++;
+            } catch (ExecutionException | RuntimeException e) {
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                report.append("  not available: ").append(cause.getMessage());
+            }
+        }
+
+        System.out.println(report);
+        assertThat(measured).isPositive();
+    }
+
+    private static Measurement solve(String moveThreadCount) throws InterruptedException, ExecutionException {
+        // Config de produção, só com um limite de tempo fixo para comparar
+        SolverConfig config = new TimefoldConfig().solverConfig(new SchedulerProperties())
+                .withMoveThreadCount(moveThreadCount)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(TIME_LIMIT));
+
+        try (SolverManager<TimetableSolution, Long> solverManager = SolverManager.create(SolverFactory.create(config))) {
+            AtomicLong feasibleAt = new AtomicLong(-1);
+            long start = System.nanoTime();
+
+            SolverJob<TimetableSolution, Long> job = solverManager.solveBuilder()
+                    .withProblemId(1L)
+                    .withProblem(TimetableProblemGenerator.generate(TimetableProblemGenerator.MEDIUM, SEED))
+                    .withBestSolutionConsumer(solution -> {
+                        if (solution.isFeasible()) {
+                            feasibleAt.compareAndSet(-1, Duration.ofNanos(System.nanoTime() - start).toMillis());
+                        }
+                    })
+                    .run();
+
+            TimetableSolution best = job.getFinalBestSolution();
+            return new Measurement(job.getScoreCalculationSpeed(), feasibleAt.get(), String.valueOf(best.getScore()));
+        }
+    }
+
+    private record Measurement(long scoreCalculationSpeed, long timeToFeasibleMillis, String bestScore) {
+    }
+}
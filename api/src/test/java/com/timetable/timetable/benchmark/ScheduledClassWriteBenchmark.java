@@ -0,0 +1,236 @@
+package com.timetable.timetable.benchmark;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.domain.schedule.entity.CohortSubject;
+import com.timetable.timetable.domain.schedule.entity.Room;
+import com.timetable.timetable.domain.schedule.entity.ScheduledClass;
+import com.timetable.timetable.domain.schedule.entity.Timeslot;
+import com.timetable.timetable.domain.schedule.entity.Timetable;
+import com.timetable.timetable.scheduler_engine.solver.ScheduledClassBatchWriter;
+
+/**
+ * Compares ways of writing solver output into scheduled_classes:
+ * - IDENTITY row by row: what JPA saveAll issues for an IDENTITY id
+ * - sequence + batch: a pooled sequence (allocation 50) with hibernate.jdbc.batch_size=50
+ * - JDBC batch: {@link ScheduledClassBatchWriter}, the path saveSolution uses
+ * - COPY: PostgreSQL COPY FROM STDIN through the driver's CopyManager
+ *
+ * Run with: mvn -Pbenchmark test
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("ScheduledClass write benchmark")
+class ScheduledClassWriteBenchmark {
+
+    private static final int[] SIZES = { 1_000, 10_000, 50_000 };
+    private static final int COHORT_SUBJECTS = 2_000;
+    private static final int ROOMS = 100;
+    private static final int TIMESLOTS = 30;
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUpSchema() throws SQLException {
+        connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE timetables (id BIGSERIAL PRIMARY KEY)");
+            st.execute("CREATE TABLE cohort_subjects (id BIGSERIAL PRIMARY KEY)");
+            st.execute("CREATE TABLE rooms (id BIGSERIAL PRIMARY KEY)");
+            st.execute("CREATE TABLE timeslots (id BIGSERIAL PRIMARY KEY)");
+            st.execute("""
+                    CREATE TABLE scheduled_classes (
+                        id BIGSERIAL PRIMARY KEY,
+                        cohort_subject_id BIGINT NOT NULL REFERENCES cohort_subjects,
+                        timetable_id BIGINT REFERENCES timetables,
+                        room_id BIGINT REFERENCES rooms,
+                        timeslot_id BIGINT REFERENCES timeslots,
+                        pinned BOOLEAN NOT NULL)
+                    """);
+            st.execute("CREATE SEQUENCE scheduled_classes_seq INCREMENT BY " + SEQUENCE_ALLOCATION);
+
+            st.execute("INSERT INTO timetables DEFAULT VALUES");
+            st.execute("INSERT INTO cohort_subjects SELECT FROM generate_series(1, " + COHORT_SUBJECTS + ")");
+            st.execute("INSERT INTO rooms SELECT FROM generate_series(1, " + ROOMS + ")");
+            st.execute("INSERT INTO timeslots SELECT FROM generate_series(1, " + TIMESLOTS + ")");
+        }
+        connection.setAutoCommit(false);
+        connection.commit();
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Write 1k/10k/50k scheduled classes with each strategy")
+    void compareWriteStrategies() throws Exception {
+        Map<String, Strategy> strategies = new LinkedHashMap<>();
+        strategies.put("IDENTITY row by row (JPA saveAll)", ScheduledClassWriteBenchmark::insertRowByRow);
+        strategies.put("sequence + batch of " + SEQUENCE_ALLOCATION, ScheduledClassWriteBenchmark::insertWithSequence);
+        strategies.put("JDBC batch (ScheduledClassBatchWriter)", ScheduledClassWriteBenchmark::insertWithBatchWriter);
+        strategies.put("COPY FROM STDIN", ScheduledClassWriteBenchmark::insertWithCopy);
+
+        // Aquecimento do JIT e do servidor
+        for (Strategy strategy : strategies.values()) {
+            run(strategy, generate(1_000));
+        }
+
+        StringBuilder report = new StringBuilder("%n%-42s".formatted("strategy"));
+        for (int size : SIZES) {
+            report.append("%14s".formatted(size + " rows"));
+        }
+
+        for (Map.Entry<String, Strategy> entry : strategies.entrySet()) {
+            report.append("%n%-42s".formatted(entry.getKey()));
+            for (int size : SIZES) {
+                long millis = run(entry.getValue(), generate(size));
+                report.append("%11d ms".formatted(millis));
+            }
+        }
+
+        System.out.println(report);
+    }
+
+    private static long run(Strategy strategy, List<ScheduledClass> rows) throws Exception {
+        try (Statement st = connection.createStatement()) {
+            st.execute("TRUNCATE scheduled_classes");
+        }
+        connection.commit();
+
+        long start = System.nanoTime();
+        strategy.write(rows);
+        connection.commit();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        try (Statement st = connection.createStatement();
+                ResultSet rs = st.executeQuery("SELECT count(*) FROM scheduled_classes")) {
+            rs.next();
+            assertThat(rs.getInt(1)).isEqualTo(rows.size());
+        }
+        return millis;
+    }
+
+    private static void insertRowByRow(List<ScheduledClass> rows) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("""
+                INSERT INTO scheduled_classes (cohort_subject_id, timetable_id, room_id, timeslot_id, pinned)
+                VALUES (?, ?, ?, ?, ?) RETURNING id
+                """)) {
+            for (ScheduledClass row : rows) {
+                bind(ps, 1, row);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                }
+            }
+        }
+    }
+
+    private static void insertWithSequence(List<ScheduledClass> rows) throws SQLException {
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('scheduled_classes_seq')");
+                PreparedStatement ps = connection.prepareStatement("""
+                        INSERT INTO scheduled_classes (id, cohort_subject_id, timetable_id, room_id, timeslot_id, pinned)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        """)) {
+            long nextId = 0;
+            long allocatedUntil = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                if (nextId == allocatedUntil) {
+                    try (ResultSet rs = nextval.executeQuery()) {
+                        rs.next();
+                        nextId = rs.getLong(1);
+                        allocatedUntil = nextId + SEQUENCE_ALLOCATION;
+                    }
+                }
+                ps.setLong(1, nextId++);
+                bind(ps, 2, rows.get(i));
+                ps.addBatch();
+                if ((i + 1) % SEQUENCE_ALLOCATION == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void insertWithBatchWriter(List<ScheduledClass> rows) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        new ScheduledClassBatchWriter(jdbcTemplate, new SchedulerProperties()).insertAll(rows);
+    }
+
+    private static void insertWithCopy(List<ScheduledClass> rows) throws Exception {
+        StringBuilder csv = new StringBuilder(rows.size() * 24);
+        for (ScheduledClass row : rows) {
+            csv.append(row.getCohortSubject().getId()).append(',')
+                    .append(row.getTimetable().getId()).append(',')
+                    .append(row.getRoom().getId()).append(',')
+                    .append(row.getTimeslot().getId()).append(',')
+                    .append(row.isPinned()).append('\n');
+        }
+        connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                "COPY scheduled_classes (cohort_subject_id, timetable_id, room_id, timeslot_id, pinned) "
+                        + "FROM STDIN (FORMAT csv)",
+                new StringReader(csv.toString()));
+    }
+
+    private static void bind(PreparedStatement ps, int from, ScheduledClass row) throws SQLException {
+        ps.setLong(from, row.getCohortSubject().getId());
+        ps.setLong(from + 1, row.getTimetable().getId());
+        ps.setLong(from + 2, row.getRoom().getId());
+        ps.setLong(from + 3, row.getTimeslot().getId());
+        ps.setBoolean(from + 4, row.isPinned());
+    }
+
+    private static List<ScheduledClass> generate(int size) {
+        Timetable timetable = Timetable.builder().id(1L).build();
+        List<ScheduledClass> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(ScheduledClass.builder()
+                    .cohortSubject(CohortSubject.builder().id((long) (i % COHORT_SUBJECTS) + 1).build())
+                    .timetable(timetable)
+                    .room(Room.builder().id((long) (i % ROOMS) + 1).build())
+                    .timeslot(Timeslot.builder().id((long) (i % TIMESLOTS) + 1).build())
+                    .build());
+        }
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface Strategy {
+        void write(List<ScheduledClass> rows) throws Exception;
+    }
+}
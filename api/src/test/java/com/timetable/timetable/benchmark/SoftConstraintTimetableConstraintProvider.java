@@ -0,0 +1,24 @@
+package com.timetable.timetable.benchmark;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+
+import com.timetable.timetable.scheduler_engine.solver.TimetableConstraintProvider;
+
+/**
+ * The production constraints plus the two soft constraints (SC1, SC2) that are
+ * still off in production, to measure what turning them on would cost.
+ */
+public class SoftConstraintTimetableConstraintProvider extends TimetableConstraintProvider {
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory factory) {
+        return Stream.concat(
+                Arrays.stream(super.defineConstraints(factory)),
+                Stream.of(minimizeTeacherGaps(factory), distributeSubjectEvenly(factory)))
+                .toArray(Constraint[]::new);
+    }
+}
@@ -0,0 +1,77 @@
+package com.timetable.timetable.benchmark;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.timetable.timetable.domain.schedule.repository.CohortSubjectRepository;
+
+/**
+ * Fills a PostgreSQL container (schema created by Hibernate) with
+ * {@link SyntheticDatasetGenerator} at 10, 100 and 1000 cohorts and reports
+ * how long each took.
+ *
+ * Run with: mvn -Pbenchmark test
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Synthetic dataset generator")
+class SyntheticDatasetBenchmark {
+
+    private static final int ACADEMIC_YEAR = 2025;
+    private static final int SEMESTER = 1;
+    private static final int BATCH_SIZE = 500;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CohortSubjectRepository cohortSubjectRepository;
+
+    @ParameterizedTest(name = "{0} cohorts")
+    @ValueSource(ints = { 10, 100, 1000 })
+    @DisplayName("Generate an institution")
+    void generate(int cohorts) {
+        SyntheticDatasetGenerator generator = new SyntheticDatasetGenerator(jdbcTemplate, BATCH_SIZE);
+        SyntheticDatasetGenerator.Scale scale = SyntheticDatasetGenerator.Scale.ofCohorts(cohorts)
+                .withStudentsPerCohort(30);
+
+        long start = System.nanoTime();
+        SyntheticDatasetGenerator.Dataset dataset = generator.generate(scale, cohorts, ACADEMIC_YEAR, SEMESTER);
+        long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        System.out.printf("%n%5d cohorts: %s in %d ms%n", cohorts, dataset, millis);
+
+        assertThat(dataset.cohorts()).isEqualTo(cohorts);
+        assertThat(dataset.cohortSubjects()).isEqualTo(cohorts * scale.subjectsPerSemester());
+        // Os dados gerados têm de ser legíveis pelo JPA, como os da aplicação
+        assertThat(cohortSubjectRepository.findAll()).hasSize(dataset.cohortSubjects());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM timeslots", Integer.class)).isEqualTo(30);
+    }
+}
@@ -0,0 +1,323 @@
+package com.timetable.timetable.benchmark;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.timetable.timetable.domain.schedule.entity.AcademicPolicy;
+import com.timetable.timetable.domain.schedule.entity.CohortStatus;
+import com.timetable.timetable.domain.schedule.entity.TeacherType;
+import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.domain.user.entity.AccountStatus;
+import com.timetable.timetable.domain.user.entity.UserRole;
+
+/**
+ * Deterministic, seedable generator of a whole institution in the database:
+ * courses with a coordinator, subjects with eligible teachers, cohorts and
+ * their CohortSubjects, rooms with course restrictions, students and the 30
+ * standard timeslots. Backs the solver, repository and HTTP load benchmarks.
+ *
+ * Everything is written with JDBC batches and explicit ids (allocated after
+ * the current max id, identity sequences are moved past them at the end), so
+ * it can run on a database that already has data. Expects the schema to
+ * exist (e.g. created by Hibernate). Every generated user logs in with
+ * {@link #PASSWORD}.
+ */
+public final class SyntheticDatasetGenerator {
+
+    public static final String PASSWORD = "password";
+
+    private static final int YEARS = 4;
+    private static final int SEMESTERS = 2;
+    /** Disciplinas por professor, como na política de 12h semanais */
+    private static final int SUBJECTS_PER_TEACHER = 3;
+
+    private static final LocalTime[][] BLOCKS = {
+            { LocalTime.of(7, 0), LocalTime.of(8, 45) },
+            { LocalTime.of(8, 50), LocalTime.of(10, 35) },
+            { LocalTime.of(10, 40), LocalTime.of(12, 25) },
+            { LocalTime.of(12, 30), LocalTime.of(14, 15) },
+            { LocalTime.of(14, 20), LocalTime.of(16, 5) },
+            { LocalTime.of(16, 10), LocalTime.of(17, 55) } };
+
+    /**
+     * Size of the generated institution. Courses, teachers and rooms are
+     * derived from the number of cohorts.
+     */
+    public record Scale(int cohorts, int subjectsPerSemester, int eligibleTeachersPerSubject,
+            int studentsPerCohort, double restrictedRoomRatio) {
+
+        public static Scale ofCohorts(int cohorts) {
+            return new Scale(cohorts, 5, 2, 0, 0.5);
+        }
+
+        public Scale withStudentsPerCohort(int studentsPerCohort) {
+            return new Scale(cohorts, subjectsPerSemester, eligibleTeachersPerSubject, studentsPerCohort,
+                    restrictedRoomRatio);
+        }
+
+        int courses() {
+            return Math.max(1, (int) Math.ceil(cohorts / 10.0));
+        }
+
+        int teachers() {
+            return Math.max(eligibleTeachersPerSubject,
+                    (int) Math.ceil((double) cohorts * subjectsPerSemester / SUBJECTS_PER_TEACHER));
+        }
+
+        int rooms() {
+            return Math.max(2, (int) Math.ceil(cohorts / 2.0));
+        }
+    }
+
+    /**
+     * Row counts of a generated dataset.
+     */
+    public record Dataset(int academicYear, int semester, int courses, int teachers, int students,
+            int subjects, int cohorts, int cohortSubjects, int rooms, int roomRestrictions) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+    public SyntheticDatasetGenerator(JdbcTemplate jdbcTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Generates one institution with its cohorts in the given period.
+     * Subjects are generated for both semesters, CohortSubjects only for this one.
+     */
+    public Dataset generate(Scale scale, long seed, int academicYear, int semester) {
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        Map<UserRole, Long> roleIds = ensureRoles();
+        ensureTimeslots();
+
+        // ===== Utilizadores: coordenadores e professores =====
+        long userId = nextId("users");
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userRoles = new ArrayList<>();
+
+        List<Long> coordinators = new ArrayList<>();
+        for (int i = 0; i < scale.courses(); i++) {
+            long id = userId++;
+            users.add(user(id, "coordinator" + id, now, null));
+            userRoles.add(new Object[] { id, roleIds.get(UserRole.COORDINATOR) });
+            coordinators.add(id);
+        }
+
+        List<Long> teachers = new ArrayList<>();
+        for (int i = 0; i < scale.teachers(); i++) {
+            long id = userId++;
+            TeacherType type = random.nextInt(4) == 0 ? TeacherType.PART_TIME : TeacherType.FULL_TIME;
+            users.add(user(id, "teacher" + id, now, type));
+            userRoles.add(new Object[] { id, roleIds.get(UserRole.TEACHER) });
+            teachers.add(id);
+        }
+
+        // ===== Cursos =====
+        long courseId = nextId("courses");
+        List<Long> courses = new ArrayList<>();
+        List<Object[]> courseRows = new ArrayList<>();
+        for (int i = 0; i < scale.courses(); i++) {
+            long id = courseId++;
+            courses.add(id);
+            courseRows.add(new Object[] { id, "Course " + id, coordinators.get(i), YEARS, false, now, now });
+        }
+
+        // ===== Disciplinas (anos × semestres) com professores elegíveis =====
+        long subjectId = nextId("subjects");
+        Map<String, List<Long>> subjectsByCourseYearSemester = new HashMap<>();
+        Map<Long, List<Long>> eligibleBySubject = new HashMap<>();
+        List<Object[]> subjects = new ArrayList<>();
+        List<Object[]> subjectTeachers = new ArrayList<>();
+        for (long course : courses) {
+            for (int year = 1; year <= YEARS; year++) {
+                for (int s = 1; s <= SEMESTERS; s++) {
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < scale.subjectsPerSemester(); i++) {
+                        long id = subjectId++;
+                        ids.add(id);
+                        subjects.add(new Object[] { id, "Subject " + id, 3 + random.nextInt(4), year, s, course,
+                                false, null });
+
+                        List<Long> eligible = pickDistinct(teachers, scale.eligibleTeachersPerSubject(), random);
+                        eligibleBySubject.put(id, eligible);
+                        eligible.forEach(teacher -> subjectTeachers.add(new Object[] { id, teacher }));
+                    }
+                    subjectsByCourseYearSemester.put(course + "/" + year + "/" + s, ids);
+                }
+            }
+        }
+
+        // ===== Turmas, distribuídas por curso e ano =====
+        long cohortId = nextId("cohorts");
+        long cohortSubjectId = nextId("cohort_subjects");
+        Map<String, Integer> sectionsByCourseYear = new HashMap<>();
+        List<Object[]> cohorts = new ArrayList<>();
+        List<Object[]> cohortSubjects = new ArrayList<>();
+        List<Object[]> cohortStudents = new ArrayList<>();
+        for (int i = 0; i < scale.cohorts(); i++) {
+            long course = courses.get(i % courses.size());
+            int year = (i / courses.size()) % YEARS + 1;
+            int section = sectionsByCourseYear.merge(course + "/" + year, 1, Integer::sum);
+
+            long id = cohortId++;
+            CohortStatus status = scale.studentsPerCohort() > 0 ? CohortStatus.CONFIRMED : CohortStatus.ESTIMATED;
+            int estimated = AcademicPolicy.ESTIMATED_STUDENT_COUNT - 10 + random.nextInt(21);
+            cohorts.add(new Object[] { id, year, sectionName(section), academicYear, semester, course,
+                    "Course " + course, status.name(), estimated });
+
+            for (long subject : subjectsByCourseYearSemester.get(course + "/" + year + "/" + semester)) {
+                List<Long> eligible = eligibleBySubject.get(subject);
+                long teacher = eligible.get(random.nextInt(eligible.size()));
+                cohortSubjects.add(new Object[] { cohortSubjectId++, id, subject, teacher, academicYear, semester,
+                        true });
+            }
+
+            for (int s = 0; s < scale.studentsPerCohort(); s++) {
+                long studentId = userId++;
+                users.add(user(studentId, "student" + studentId, now, null));
+                userRoles.add(new Object[] { studentId, roleIds.get(UserRole.STUDENT) });
+                cohortStudents.add(new Object[] { id, studentId });
+            }
+        }
+
+        List<Object[]> expectedCohorts = new ArrayList<>();
+        sectionsByCourseYear.forEach((key, count) -> {
+            String[] parts = key.split("/");
+            expectedCohorts.add(new Object[] { Long.parseLong(parts[0]), Integer.parseInt(parts[1]), count });
+        });
+
+        // ===== Salas, parte delas reservada a um curso =====
+        long roomId = nextId("rooms");
+        long restrictionId = nextId("room_course_restrictions");
+        int restricted = (int) Math.round(scale.rooms() * scale.restrictedRoomRatio());
+        List<Object[]> rooms = new ArrayList<>();
+        List<Object[]> restrictions = new ArrayList<>();
+        for (int i = 0; i < scale.rooms(); i++) {
+            long id = roomId++;
+            rooms.add(new Object[] { id, "Room " + id, 25 + random.nextInt(26) });
+            if (i < restricted) {
+                long course = courses.get(i % courses.size());
+                for (TimePeriod period : List.of(TimePeriod.MORNING, TimePeriod.AFTERNOON)) {
+                    restrictions.add(new Object[] { restrictionId++, id, course, period.name() });
+                }
+            }
+        }
+
+        insert("INSERT INTO users (id, username, email, password, created_at, updated_at, status, simulation_team, "
+                + "teacher_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", users);
+        insert("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", userRoles);
+        insert("INSERT INTO courses (id, name, coordinator_id, years, has_business_simulation, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", courseRows);
+        insert("INSERT INTO course_expected_cohorts (course_id, academic_year, expected_cohorts) VALUES (?, ?, ?)",
+                expectedCohorts);
+        insert("INSERT INTO subjects (id, name, credits, target_year, target_semester, course_id, fixed_day_session, "
+                + "fixed_day_of_week) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", subjects);
+        insert("INSERT INTO subject_teachers (subject_id, teacher_id) VALUES (?, ?)", subjectTeachers);
+        insert("INSERT INTO cohorts (id, year, section, academic_year, semester, course_id, course_name_snapshot, "
+                + "status, estimated_student_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", cohorts);
+        insert("INSERT INTO cohort_students (cohort_id, student_id) VALUES (?, ?)", cohortStudents);
+        insert("INSERT INTO cohort_subjects (id, cohort_id, subject_id, assigned_teacher_id, academic_year, semester, "
+                + "is_active) VALUES (?, ?, ?, ?, ?, ?, ?)", cohortSubjects);
+        insert("INSERT INTO rooms (id, name, capacity) VALUES (?, ?, ?)", rooms);
+        insert("INSERT INTO room_course_restrictions (id, room_id, course_id, period) VALUES (?, ?, ?, ?)",
+                restrictions);
+
+        for (String table : List.of("users", "courses", "subjects", "cohorts", "cohort_subjects", "rooms",
+                "room_course_restrictions")) {
+            restartIdentity(table);
+        }
+
+        return new Dataset(academicYear, semester, courses.size(), teachers.size(),
+                scale.cohorts() * scale.studentsPerCohort(), subjects.size(), cohorts.size(), cohortSubjects.size(),
+                rooms.size(), restrictions.size());
+    }
+
+    private Object[] user(long id, String username, LocalDateTime now, TeacherType teacherType) {
+        return new Object[] { id, username, username + "@synthetic.test", passwordHash, now, now,
+                AccountStatus.ACTIVE.name(), false, teacherType != null ? teacherType.name() : null };
+    }
+
+    private Map<UserRole, Long> ensureRoles() {
+        Map<UserRole, Long> ids = new EnumMap<>(UserRole.class);
+        for (UserRole role : UserRole.values()) {
+            jdbcTemplate.update("INSERT INTO roles (role) SELECT ? WHERE NOT EXISTS (SELECT 1 FROM roles WHERE role = ?)",
+                    role.name(), role.name());
+            ids.put(role, jdbcTemplate.queryForObject("SELECT id FROM roles WHERE role = ?", Long.class, role.name()));
+        }
+        return ids;
+    }
+
+    private void ensureTimeslots() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT count(*) FROM timeslots", Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        List<Object[]> timeslots = new ArrayList<>();
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            for (LocalTime[] block : BLOCKS) {
+                timeslots.add(new Object[] { day.name(), block[0], block[1] });
+            }
+        }
+        insert("INSERT INTO timeslots (day_of_week, start_time, end_time) VALUES (?, ?, ?)", timeslots);
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                ps.setObject(i + 1, row[i]);
+            }
+        });
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM " + table, Long.class);
+        return max + 1;
+    }
+
+    /**
+     * Moves the identity sequence past the explicit ids, so the application
+     * can keep inserting into the table.
+     */
+    private void restartIdentity(String table) {
+        jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                + "(SELECT coalesce(max(id), 0) + 1 FROM " + table + "), false)", Long.class);
+    }
+
+    private static List<Long> pickDistinct(List<Long> from, int count, Random random) {
+        List<Long> pool = new ArrayList<>(from);
+        List<Long> picked = new ArrayList<>();
+        for (int i = 0; i < count && !pool.isEmpty(); i++) {
+            picked.add(pool.remove(random.nextInt(pool.size())));
+        }
+        return picked;
+    }
+
+    private static String sectionName(int section) {
+        // A..Z, depois AA, AB, ...
+        StringBuilder name = new StringBuilder();
+        for (int n = section; n > 0; n = (n - 1) / 26) {
+            name.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,186 @@
+package com.timetable.timetable.benchmark;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortSubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.SubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TeacherInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+import com.timetable.timetable.scheduler_engine.solver.LessonValueRanges;
+import com.timetable.timetable.scheduler_engine.solver.TimetableRules;
+
+/**
+ * Deterministic in-memory planning problems for solver benchmarks: courses
+ * with 4 years of cohorts, two-block CohortSubjects, teachers, rooms of which
+ * part are restricted to one course (RoomCourseRestriction) and the 30 weekly
+ * slots of TimeslotInitializer. Facts get their dense indexes the way
+ * TimetableSolutionMapper assigns them. The same scale and seed always give
+ * the same problem.
+ */
+final class TimetableProblemGenerator {
+
+    /**
+     * @param restrictedRoomRatio share of rooms reserved for a single course
+     */
+    record Scale(String name, int courses, int sectionsPerYear, int subjectsPerCohort,
+            int teachers, int rooms, double restrictedRoomRatio) {
+    }
+
+    static final Scale SMALL = new Scale("small", 2, 1, 5, 8, 8, 0.5);
+    static final Scale MEDIUM = new Scale("medium", 8, 2, 5, 40, 40, 0.5);
+    static final Scale LARGE = new Scale("large", 20, 3, 6, 150, 120, 0.5);
+
+    private static final int YEARS = 4;
+    private static final int BLOCKS_PER_SUBJECT = 2;
+
+    private static final DayOfWeek[] WEEKDAYS = {
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY };
+    private static final LocalTime[][] BLOCKS = {
+            { LocalTime.of(7, 0), LocalTime.of(8, 45) },
+            { LocalTime.of(8, 50), LocalTime.of(10, 35) },
+            { LocalTime.of(10, 40), LocalTime.of(12, 25) },
+            { LocalTime.of(12, 30), LocalTime.of(14, 15) },
+            { LocalTime.of(14, 20), LocalTime.of(16, 5) },
+            { LocalTime.of(16, 10), LocalTime.of(17, 55) } };
+
+    private TimetableProblemGenerator() {
+    }
+
+    static TimetableSolution generate(Scale scale, long seed) {
+        Random random = new Random(seed);
+
+        List<TimeslotInfo> timeslots = timeslots();
+        List<RoomInfo> rooms = rooms(scale, random);
+
+        List<TeacherInfo> teachers = new ArrayList<>();
+        for (long i = 1; i <= scale.teachers(); i++) {
+            teachers.add(TeacherInfo.builder().id(i).index((int) i - 1).name("teacher" + i).build());
+        }
+
+        List<LessonAssignment> lessons = new ArrayList<>();
+        long cohortId = 0;
+        long cohortSubjectId = 0;
+        int subjectIndex = 0;
+        for (long course = 1; course <= scale.courses(); course++) {
+            for (int year = 1; year <= YEARS; year++) {
+                // Disciplinas do ano, partilhadas pelas turmas
+                List<SubjectInfo> subjects = new ArrayList<>();
+                for (int s = 1; s <= scale.subjectsPerCohort(); s++) {
+                    long subjectId = (course * 10 + year) * 100 + s;
+                    subjects.add(SubjectInfo.builder()
+                            .id(subjectId)
+                            .index(subjectIndex++)
+                            .name("subject" + subjectId)
+                            .targetYear(year)
+                            .targetSemester(1)
+                            .build());
+                }
+
+                for (int section = 0; section < scale.sectionsPerYear(); section++) {
+                    String sectionName = String.valueOf((char) ('A' + section));
+                    CohortInfo cohort = CohortInfo.builder()
+                            .index((int) cohortId)
+                            .id(++cohortId)
+                            .displayName("C" + course + "-" + year + sectionName)
+                            .studentCount(20 + random.nextInt(21))
+                            .courseId(course)
+                            .year(year)
+                            .section(sectionName)
+                            .build();
+
+                    for (SubjectInfo subject : subjects) {
+                        CohortSubjectInfo cohortSubject = CohortSubjectInfo.builder()
+                                .id(++cohortSubjectId)
+                                .cohort(cohort)
+                                .subject(subject)
+                                .teacher(teachers.get(random.nextInt(teachers.size())))
+                                .lessonBlocksPerWeek(BLOCKS_PER_SUBJECT)
+                                .build();
+                        for (int block = 1; block <= BLOCKS_PER_SUBJECT; block++) {
+                            lessons.add(LessonAssignment.builder()
+                                    .id((long) lessons.size() + 1)
+                                    .cohortSubject(cohortSubject)
+                                    .blockNumber(block)
+                                    .build());
+                        }
+                    }
+                }
+            }
+        }
+
+        return LessonValueRanges.assign(TimetableSolution.builder()
+                .lessonAssignments(lessons)
+                .availableTimeslots(timeslots)
+                .availableRooms(rooms)
+                .academicYear(2025)
+                .semester(1)
+                .build());
+    }
+
+    /**
+     * Gives every lesson a random timeslot and room, ignoring its value
+     * ranges, so score calculation has a full (and typically infeasible)
+     * solution to work on.
+     */
+    static TimetableSolution assignRandomly(TimetableSolution solution, long seed) {
+        Random random = new Random(seed);
+        List<TimeslotInfo> timeslots = solution.getAvailableTimeslots();
+        List<RoomInfo> rooms = solution.getAvailableRooms();
+        for (LessonAssignment lesson : solution.getLessonAssignments()) {
+            lesson.setTimeslot(timeslots.get(random.nextInt(timeslots.size())));
+            lesson.setRoom(rooms.get(random.nextInt(rooms.size())));
+        }
+        return solution;
+    }
+
+    private static List<TimeslotInfo> timeslots() {
+        List<TimeslotInfo> timeslots = new ArrayList<>();
+        for (DayOfWeek day : WEEKDAYS) {
+            for (LocalTime[] block : BLOCKS) {
+                timeslots.add(TimeslotInfo.builder()
+                        .id((long) timeslots.size() + 1)
+                        .index(timeslots.size())
+                        .dayOfWeek(day)
+                        .startTime(block[0])
+                        .endTime(block[1])
+                        .build());
+            }
+        }
+        return TimetableRules.withConsecutiveTable(timeslots);
+    }
+
+    private static List<RoomInfo> rooms(Scale scale, Random random) {
+        int restricted = (int) Math.round(scale.rooms() * scale.restrictedRoomRatio());
+
+        List<RoomInfo> rooms = new ArrayList<>();
+        for (long i = 1; i <= scale.rooms(); i++) {
+            Map<TimePeriod, Set<Long>> allowedCourses = new EnumMap<>(TimePeriod.class);
+            if (i <= restricted) {
+                // Sala reservada a um curso, de manhã e à tarde
+                Set<Long> course = Set.of(1 + (i - 1) % scale.courses());
+                allowedCourses.put(TimePeriod.MORNING, course);
+                allowedCourses.put(TimePeriod.AFTERNOON, course);
+            }
+            rooms.add(RoomInfo.builder()
+                    .id(i)
+                    .index((int) i - 1)
+                    .name("room" + i)
+                    .capacity(25 + random.nextInt(26))
+                    .allowedCoursesByPeriod(allowedCourses)
+                    .build());
+        }
+        return rooms;
+    }
+}
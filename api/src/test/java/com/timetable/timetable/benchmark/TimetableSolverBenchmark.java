@@ -0,0 +1,48 @@
+package com.timetable.timetable.benchmark;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import ai.timefold.solver.benchmark.api.PlannerBenchmark;
+import ai.timefold.solver.benchmark.api.PlannerBenchmarkFactory;
+
+/**
+ * Timefold Benchmarker run over generated problems of increasing size,
+ * comparing the solver configurations in benchmark/timetableSolverBenchmarkConfig.xml
+ * (construction heuristics, local search moves and types, termination, soft
+ * constraints).
+ *
+ * Problems appear in the report in order: Problem_0 = small, Problem_1 =
+ * medium, Problem_2 = large (see TimetableProblemGenerator). The HTML report
+ * is written to target/benchmarks/solver/&lt;timestamp&gt;/index.html.
+ *
+ * Run with: mvn -Pbenchmark test -Dtest=TimetableSolverBenchmark
+ */
+@Tag("benchmark")
+@DisplayName("Timetable solver benchmark")
+class TimetableSolverBenchmark {
+
+    private static final long SEED = 1L;
+
+    @Test
+    @DisplayName("Compare solver configurations on small/medium/large problems")
+    void benchmarkSolverConfigurations() {
+        PlannerBenchmarkFactory factory = PlannerBenchmarkFactory.createFromXmlResource(
+                "benchmark/timetableSolverBenchmarkConfig.xml");
+
+        PlannerBenchmark benchmark = factory.buildPlannerBenchmark(
+                TimetableProblemGenerator.generate(TimetableProblemGenerator.SMALL, SEED),
+                TimetableProblemGenerator.generate(TimetableProblemGenerator.MEDIUM, SEED),
+                TimetableProblemGenerator.generate(TimetableProblemGenerator.LARGE, SEED));
+
+        File benchmarkDirectory = benchmark.benchmark();
+
+        System.out.println("Benchmark report: " + new File(benchmarkDirectory, "index.html"));
+        assertThat(new File(benchmarkDirectory, "index.html")).exists();
+    }
+}
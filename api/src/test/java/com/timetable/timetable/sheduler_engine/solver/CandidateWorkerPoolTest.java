@@ -0,0 +1,57 @@
+package com.timetable.timetable.sheduler_engine.solver;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.scheduler_engine.solver.CandidateWorkerPool;
+
+@DisplayName("CandidateWorkerPool Tests")
+class CandidateWorkerPoolTest {
+
+    private CandidateWorkerPool pool;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.getPermutation().getParallel().setThreads(4);
+        properties.getPermutation().getParallel().setMinCandidates(2);
+        pool = new CandidateWorkerPool(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should keep candidate order and drop rejected candidates")
+    void shouldMergeResultsInCandidateOrder() {
+        List<Integer> candidates = IntStream.range(0, 103).boxed().toList();
+
+        List<Integer> evens = pool.evaluate(candidates, n -> n % 2 == 0 ? n : null);
+
+        assertThat(evens).containsExactlyElementsOf(
+                candidates.stream().filter(n -> n % 2 == 0).toList());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failure raised on a worker thread")
+    void shouldPropagateWorkerFailure() {
+        List<Integer> candidates = IntStream.range(0, 40).boxed().toList();
+
+        assertThatThrownBy(() -> pool.evaluate(candidates, n -> {
+            if (n == 37) {
+                throw new IllegalArgumentException("bad candidate");
+            }
+            return n;
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad candidate");
+    }
+}
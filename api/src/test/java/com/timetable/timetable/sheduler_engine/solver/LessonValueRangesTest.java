@@ -0,0 +1,137 @@
+package com.timetable.timetable.sheduler_engine.solver;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortSubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.SubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TeacherInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+import com.timetable.timetable.scheduler_engine.solver.LessonValueRanges;
+
+@DisplayName("LessonValueRanges Tests")
+class LessonValueRangesTest {
+
+    private TimeslotInfo mondayMorning;
+    private TimeslotInfo fridayMass;
+    private TimeslotInfo mondayAfternoon;
+    private SubjectInfo algebra;
+    private TeacherInfo alice;
+
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        mondayMorning = timeslot(1L, DayOfWeek.MONDAY, LocalTime.of(8, 50), LocalTime.of(10, 35));
+        fridayMass = timeslot(2L, DayOfWeek.FRIDAY, LocalTime.of(8, 50), LocalTime.of(10, 35));
+        mondayAfternoon = timeslot(3L, DayOfWeek.MONDAY, LocalTime.of(13, 0), LocalTime.of(14, 45));
+        algebra = SubjectInfo.builder().id(1L).name("Algebra").build();
+        alice = TeacherInfo.builder().id(1L).name("alice").build();
+    }
+
+    @Test
+    @DisplayName("Should keep only the cohort's period and skip the Friday mass slot")
+    void shouldPruneTimeslots() {
+        LessonAssignment odd = lesson(cohort(1L, 10L, 1, 30));
+        LessonAssignment even = lesson(cohort(2L, 10L, 2, 30));
+
+        LessonValueRanges.assign(problem(List.of(room(1L, 40, null)), odd, even));
+
+        assertThat(odd.getTimeslotRange()).containsExactly(mondayMorning);
+        assertThat(even.getTimeslotRange()).containsExactly(mondayAfternoon);
+    }
+
+    @Test
+    @DisplayName("Should drop rooms that are too small or restricted to another course")
+    void shouldPruneRooms() {
+        RoomInfo open = room(1L, 40, null);
+        RoomInfo small = room(2L, 20, null);
+        RoomInfo ownCourse = room(3L, 40, Map.of(TimePeriod.MORNING, Set.of(10L)));
+        RoomInfo otherCourse = room(4L, 40, Map.of(TimePeriod.MORNING, Set.of(20L)));
+        LessonAssignment first = lesson(cohort(1L, 10L, 1, 30));
+        LessonAssignment second = lesson(first.getCohort());
+
+        LessonValueRanges.assign(problem(List.of(open, small, ownCourse, otherCourse), first, second));
+
+        assertThat(first.getRoomRange()).containsExactly(open, ownCourse);
+        // Aulas da mesma coorte partilham a mesma lista
+        assertThat(second.getRoomRange()).isSameAs(first.getRoomRange());
+    }
+
+    @Test
+    @DisplayName("Should fall back to every value when nothing fits or the lesson is fixed")
+    void shouldFallBackToFullRanges() {
+        List<RoomInfo> rooms = List.of(room(1L, 20, null), room(2L, 25, null));
+        LessonAssignment crowded = lesson(cohort(1L, 10L, 1, 30));
+        LessonAssignment pinned = lesson(cohort(2L, 10L, 1, 10));
+        pinned.setTimeslot(mondayAfternoon);
+        pinned.setRoom(rooms.get(0));
+        pinned.setPinned(true);
+
+        LessonValueRanges.assign(problem(rooms, crowded, pinned));
+
+        assertThat(crowded.getRoomRange()).containsExactlyElementsOf(rooms);
+        assertThat(pinned.getTimeslotRange()).containsExactly(mondayMorning, fridayMass, mondayAfternoon);
+        assertThat(pinned.getRoomRange()).containsExactlyElementsOf(rooms);
+    }
+
+    private TimetableSolution problem(List<RoomInfo> rooms, LessonAssignment... lessons) {
+        return TimetableSolution.builder()
+                .lessonAssignments(new ArrayList<>(List.of(lessons)))
+                .availableTimeslots(List.of(mondayMorning, fridayMass, mondayAfternoon))
+                .availableRooms(rooms)
+                .academicYear(2025)
+                .semester(1)
+                .build();
+    }
+
+    private LessonAssignment lesson(CohortInfo cohort) {
+        long id = nextId++;
+        return LessonAssignment.builder()
+                .id(id)
+                .cohortSubject(CohortSubjectInfo.builder()
+                        .id(id)
+                        .cohort(cohort)
+                        .subject(algebra)
+                        .teacher(alice)
+                        .lessonBlocksPerWeek(1)
+                        .build())
+                .build();
+    }
+
+    private static TimeslotInfo timeslot(Long id, DayOfWeek day, LocalTime start, LocalTime end) {
+        return TimeslotInfo.builder().id(id).index(id.intValue() - 1).dayOfWeek(day)
+                .startTime(start).endTime(end).build();
+    }
+
+    private static CohortInfo cohort(Long id, Long courseId, int year, int studentCount) {
+        return CohortInfo.builder()
+                .id(id)
+                .displayName("C" + id)
+                .studentCount(studentCount)
+                .courseId(courseId)
+                .year(year)
+                .section("A")
+                .build();
+    }
+
+    private static RoomInfo room(Long id, int capacity, Map<TimePeriod, Set<Long>> allowedCourses) {
+        return RoomInfo.builder().id(id).name("R" + id).capacity(capacity)
+                .allowedCoursesByPeriod(allowedCourses).build();
+    }
+}
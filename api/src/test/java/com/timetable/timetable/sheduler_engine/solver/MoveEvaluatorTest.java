@@ -0,0 +1,154 @@
+package com.timetable.timetable.sheduler_engine.solver;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortSubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.SubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TeacherInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+import com.timetable.timetable.scheduler_engine.solver.HardConstraint;
+import com.timetable.timetable.scheduler_engine.solver.MoveEvaluator;
+import com.timetable.timetable.scheduler_engine.solver.MoveEvaluator.Placement;
+
+@DisplayName("MoveEvaluator Tests")
+class MoveEvaluatorTest {
+
+    private TimeslotInfo monday0700;
+    private TimeslotInfo monday0850;
+    private TimeslotInfo tuesday0700;
+    private RoomInfo room1;
+    private RoomInfo room2;
+    private TeacherInfo alice;
+    private TeacherInfo bob;
+    private CohortInfo firstYearA;
+    private CohortInfo firstYearB;
+    private SubjectInfo algebra;
+    private SubjectInfo physics;
+
+    private long nextLessonId = 1;
+
+    @BeforeEach
+    void setUp() {
+        monday0700 = timeslot(1L, DayOfWeek.MONDAY, LocalTime.of(7, 0), LocalTime.of(8, 45));
+        monday0850 = timeslot(2L, DayOfWeek.MONDAY, LocalTime.of(8, 50), LocalTime.of(10, 35));
+        tuesday0700 = timeslot(3L, DayOfWeek.TUESDAY, LocalTime.of(7, 0), LocalTime.of(8, 45));
+
+        room1 = RoomInfo.builder().id(1L).name("A101").capacity(40).build();
+        room2 = RoomInfo.builder().id(2L).name("A102").capacity(40).build();
+
+        alice = TeacherInfo.builder().id(1L).name("alice").build();
+        bob = TeacherInfo.builder().id(2L).name("bob").build();
+
+        firstYearA = cohort(1L, "1A");
+        firstYearB = cohort(2L, "1B");
+
+        algebra = SubjectInfo.builder().id(1L).name("Algebra").build();
+        physics = SubjectInfo.builder().id(2L).name("Physics").build();
+    }
+
+    @Test
+    @DisplayName("Should penalize moving a lesson onto a slot where its teacher already teaches")
+    void shouldPenalizeTeacherConflict() {
+        LessonAssignment moving = lesson(firstYearA, algebra, alice, tuesday0700, room1);
+        LessonAssignment fixed = lesson(firstYearB, physics, alice, monday0700, room2);
+
+        MoveEvaluator evaluator = new MoveEvaluator(List.of(moving, fixed));
+        MoveEvaluator.ScoreDelta delta = evaluator.evaluate(
+                Map.of(moving, new Placement(monday0700, room1)));
+
+        assertThat(delta.hardDelta()).isEqualTo(-1);
+        assertThat(delta.violatedAfter()).containsExactly(HardConstraint.TEACHER_CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Should reward moving a lesson out of a room conflict")
+    void shouldRewardResolvingRoomConflict() {
+        LessonAssignment moving = lesson(firstYearA, algebra, alice, monday0700, room1);
+        LessonAssignment fixed = lesson(firstYearB, physics, bob, monday0700, room1);
+
+        MoveEvaluator evaluator = new MoveEvaluator(List.of(moving, fixed));
+        MoveEvaluator.ScoreDelta delta = evaluator.evaluate(
+                Map.of(moving, new Placement(monday0700, room2)));
+
+        assertThat(delta.hardDelta()).isEqualTo(1);
+        assertThat(delta.violationDelta(HardConstraint.ROOM_CONFLICT)).isEqualTo(-1);
+        assertThat(delta.violatedAfter()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not count a conflict between two lessons that swap slots")
+    void shouldEvaluateSwapAsSingleMove() {
+        LessonAssignment first = lesson(firstYearA, algebra, alice, monday0700, room1);
+        LessonAssignment second = lesson(firstYearB, physics, alice, tuesday0700, room2);
+
+        MoveEvaluator evaluator = new MoveEvaluator(List.of(first, second));
+        MoveEvaluator.ScoreDelta delta = evaluator.evaluate(Map.of(
+                first, new Placement(tuesday0700, room1),
+                second, new Placement(monday0700, room2)));
+
+        assertThat(delta.hardDelta()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should penalize consecutive lessons of the same subject on the same day")
+    void shouldPenalizeConsecutiveSameSubject() {
+        LessonAssignment moving = lesson(firstYearA, algebra, alice, tuesday0700, room1);
+        LessonAssignment fixed = lesson(firstYearA, algebra, alice, monday0700, room1);
+
+        MoveEvaluator evaluator = new MoveEvaluator(List.of(moving, fixed));
+        MoveEvaluator.ScoreDelta delta = evaluator.evaluate(
+                Map.of(moving, new Placement(monday0850, room1)));
+
+        assertThat(delta.hardDelta()).isEqualTo(-1);
+        assertThat(delta.violatedAfter()).containsExactly(HardConstraint.SAME_SUBJECT_CONSECUTIVE);
+    }
+
+    private LessonAssignment lesson(CohortInfo cohort, SubjectInfo subject, TeacherInfo teacher,
+            TimeslotInfo timeslot, RoomInfo room) {
+        long id = nextLessonId++;
+        return LessonAssignment.builder()
+                .id(id)
+                .cohortSubject(CohortSubjectInfo.builder()
+                        .id(id)
+                        .cohort(cohort)
+                        .subject(subject)
+                        .teacher(teacher)
+                        .lessonBlocksPerWeek(2)
+                        .build())
+                .timeslot(timeslot)
+                .room(room)
+                .build();
+    }
+
+    private static CohortInfo cohort(Long id, String name) {
+        return CohortInfo.builder()
+                .id(id)
+                .displayName(name)
+                .studentCount(30)
+                .courseId(1L)
+                .year(1)
+                .section(name.substring(1))
+                .build();
+    }
+
+    private static TimeslotInfo timeslot(Long id, DayOfWeek day, LocalTime start, LocalTime end) {
+        return TimeslotInfo.builder()
+                .id(id)
+                .dayOfWeek(day)
+                .startTime(start)
+                .endTime(end)
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.timetable.timetable.sheduler_engine.solver;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.timetable.timetable.domain.schedule.entity.TimePeriod;
+import com.timetable.timetable.scheduler_engine.domain.LessonAssignment;
+import com.timetable.timetable.scheduler_engine.domain.TimetableSolution;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.CohortSubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.RoomInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.SubjectInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TeacherInfo;
+import com.timetable.timetable.scheduler_engine.domain.info.TimeslotInfo;
+import com.timetable.timetable.scheduler_engine.solver.ProblemPartitioner;
+
+@DisplayName("ProblemPartitioner Tests")
+class ProblemPartitionerTest {
+
+    private TimeslotInfo morning;
+    private TimeslotInfo afternoon;
+    private SubjectInfo algebra;
+
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        morning = TimeslotInfo.builder().id(1L).dayOfWeek(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(7, 0)).endTime(LocalTime.of(8, 45)).build();
+        afternoon = TimeslotInfo.builder().id(2L).dayOfWeek(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(13, 0)).endTime(LocalTime.of(14, 45)).build();
+        algebra = SubjectInfo.builder().id(1L).name("Algebra").build();
+    }
+
+    @Test
+    @DisplayName("Should split odd and even years into morning and afternoon partitions")
+    void shouldSplitByPeriod() {
+        RoomInfo shared = room(1L, null);
+        TeacherInfo alice = teacher(1L);
+
+        TimetableSolution problem = problem(List.of(shared),
+                lesson(cohort(1L, 10L, 1), alice),
+                lesson(cohort(2L, 10L, 2), alice));
+
+        ProblemPartitioner.Partitioning partitioning = ProblemPartitioner.partition(problem);
+
+        assertThat(partitioning.partitions()).hasSize(2);
+        assertThat(partitioning.partitions())
+                .allSatisfy(partition -> assertThat(partition.getAvailableTimeslots()).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("Should split courses that only use their own restricted rooms")
+    void shouldSplitByCourseWhenRoomsAreRestricted() {
+        RoomInfo roomA = room(1L, Map.of(TimePeriod.MORNING, Set.of(10L)));
+        RoomInfo roomB = room(2L, Map.of(TimePeriod.MORNING, Set.of(20L)));
+
+        TimetableSolution problem = problem(List.of(roomA, roomB),
+                lesson(cohort(1L, 10L, 1), teacher(1L)),
+                lesson(cohort(2L, 20L, 1), teacher(2L)));
+
+        ProblemPartitioner.Partitioning partitioning = ProblemPartitioner.partition(problem);
+
+        assertThat(partitioning.partitions()).hasSize(2);
+        assertThat(partitioning.partitions())
+                .allSatisfy(partition -> assertThat(partition.getAvailableRooms()).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("Should keep courses together when they share a teacher or an open room")
+    void shouldKeepLinkedCoursesTogether() {
+        RoomInfo roomA = room(1L, Map.of(TimePeriod.MORNING, Set.of(10L)));
+        RoomInfo open = room(2L, null);
+        TeacherInfo alice = teacher(1L);
+
+        TimetableSolution sharedTeacher = problem(List.of(roomA, room(3L, Map.of(TimePeriod.MORNING, Set.of(20L)))),
+                lesson(cohort(1L, 10L, 1), alice),
+                lesson(cohort(2L, 20L, 1), alice));
+        TimetableSolution sharedRoom = problem(List.of(roomA, open),
+                lesson(cohort(1L, 10L, 1), teacher(1L)),
+                lesson(cohort(2L, 20L, 1), teacher(2L)));
+
+        assertThat(ProblemPartitioner.partition(sharedTeacher).partitions()).hasSize(1);
+        assertThat(ProblemPartitioner.partition(sharedRoom).partitions()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should merge every lesson back, including pinned ones outside any partition")
+    void shouldMergeAllLessons() {
+        RoomInfo shared = room(1L, null);
+        LessonAssignment pinnedAfternoon = lesson(cohort(2L, 10L, 2), teacher(2L));
+        pinnedAfternoon.setTimeslot(afternoon);
+        pinnedAfternoon.setRoom(shared);
+        pinnedAfternoon.setPinned(true);
+
+        TimetableSolution problem = problem(List.of(shared),
+                lesson(cohort(1L, 10L, 1), teacher(1L)),
+                pinnedAfternoon);
+
+        ProblemPartitioner.Partitioning partitioning = ProblemPartitioner.partition(problem);
+        TimetableSolution merged = ProblemPartitioner.merge(problem, partitioning, partitioning.partitions());
+
+        assertThat(partitioning.partitions()).hasSize(1);
+        assertThat(partitioning.untouched()).containsExactly(pinnedAfternoon);
+        assertThat(merged.getLessonAssignments())
+                .containsExactlyInAnyOrderElementsOf(problem.getLessonAssignments());
+    }
+
+    private TimetableSolution problem(List<RoomInfo> rooms, LessonAssignment... lessons) {
+        return TimetableSolution.builder()
+                .lessonAssignments(new ArrayList<>(List.of(lessons)))
+                .availableTimeslots(List.of(morning, afternoon))
+                .availableRooms(rooms)
+                .academicYear(2025)
+                .semester(1)
+                .build();
+    }
+
+    private LessonAssignment lesson(CohortInfo cohort, TeacherInfo teacher) {
+        long id = nextId++;
+        return LessonAssignment.builder()
+                .id(id)
+                .cohortSubject(CohortSubjectInfo.builder()
+                        .id(id)
+                        .cohort(cohort)
+                        .subject(algebra)
+                        .teacher(teacher)
+                        .lessonBlocksPerWeek(1)
+                        .build())
+                .build();
+    }
+
+    private static CohortInfo cohort(Long id, Long courseId, int year) {
+        return CohortInfo.builder()
+                .id(id)
+                .displayName("C" + id)
+                .studentCount(30)
+                .courseId(courseId)
+                .year(year)
+                .section("A")
+                .build();
+    }
+
+    private static TeacherInfo teacher(Long id) {
+        return TeacherInfo.builder().id(id).name("t" + id).build();
+    }
+
+    private static RoomInfo room(Long id, Map<TimePeriod, Set<Long>> allowedCourses) {
+        return RoomInfo.builder().id(id).name("R" + id).capacity(40).allowedCoursesByPeriod(allowedCourses).build();
+    }
+}
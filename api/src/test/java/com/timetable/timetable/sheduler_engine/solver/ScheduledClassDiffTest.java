@@ -0,0 +1,64 @@
+package com.timetable.timetable.sheduler_engine.solver;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.timetable.timetable.scheduler_engine.solver.ScheduledClassDiff;
+import com.timetable.timetable.scheduler_engine.solver.ScheduledClassDiff.Row;
+
+@DisplayName("ScheduledClassDiff Tests")
+class ScheduledClassDiffTest {
+
+    @Test
+    @DisplayName("Should leave rows already in place untouched")
+    void shouldKeepUnchangedRows() {
+        ScheduledClassDiff diff = ScheduledClassDiff.compute(
+                List.of(stored(10L, 1L, 1L, 1L), stored(11L, 1L, 2L, 1L)),
+                List.of(placement(1L, 2L, 1L), placement(1L, 1L, 1L)));
+
+        assertThat(diff.isEmpty()).isTrue();
+        assertThat(diff.getUnchanged()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should update a moved row in place instead of re-inserting it")
+    void shouldUpdateMovedRows() {
+        ScheduledClassDiff diff = ScheduledClassDiff.compute(
+                List.of(stored(10L, 1L, 1L, 1L), stored(11L, 1L, 2L, 1L)),
+                List.of(placement(1L, 1L, 2L), placement(1L, 5L, 3L)));
+
+        assertThat(diff.getInserts()).isEmpty();
+        assertThat(diff.getDeletes()).isEmpty();
+        // Mesmo timeslot tem prioridade: o 10 só muda de sala
+        assertThat(diff.getUpdates()).containsExactly(
+                new Row(10L, 1L, 1L, 2L),
+                new Row(11L, 1L, 5L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should insert extra placements and delete leftover rows")
+    void shouldInsertAndDelete() {
+        ScheduledClassDiff diff = ScheduledClassDiff.compute(
+                List.of(stored(10L, 1L, 1L, 1L), stored(20L, 2L, 1L, 2L)),
+                List.of(placement(1L, 1L, 1L), placement(1L, 3L, 1L), placement(3L, 4L, 4L)));
+
+        assertThat(diff.getUpdates()).isEmpty();
+        assertThat(diff.getInserts()).containsExactlyInAnyOrder(
+                new Row(null, 1L, 3L, 1L),
+                new Row(null, 3L, 4L, 4L));
+        assertThat(diff.getDeletes()).containsExactly(20L);
+        assertThat(diff.getUnchanged()).isEqualTo(1);
+    }
+
+    private static Row stored(Long id, long cohortSubjectId, long timeslotId, long roomId) {
+        return new Row(id, cohortSubjectId, timeslotId, roomId);
+    }
+
+    private static Row placement(long cohortSubjectId, long timeslotId, long roomId) {
+        return new Row(null, cohortSubjectId, timeslotId, roomId);
+    }
+}
@@ -0,0 +1,127 @@
+package com.timetable.timetable.sheduler_engine.solver;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.timetable.timetable.common.exception.ConflictException;
+import com.timetable.timetable.common.exception.TooManyRequestsException;
+import com.timetable.timetable.config.SchedulerProperties;
+import com.timetable.timetable.scheduler_engine.solver.SolverJobQueue;
+
+@DisplayName("SolverJobQueue Tests")
+class SolverJobQueueTest {
+
+    private SolverJobQueue queue;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.getSolver().getQueue().setConcurrency(1);
+        properties.getSolver().getQueue().setCapacity(2);
+        queue = new SolverJobQueue(properties, new SimpleMeterRegistry());
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report FIFO positions and reject once the queue is full")
+    void shouldQueueInOrderAndRejectWhenFull() throws InterruptedException {
+        UUID running = queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 1, this::block);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        UUID first = queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 2, () -> {
+        });
+        UUID second = queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2026, 1, () -> {
+        });
+
+        assertThat(queue.position(running)).isNull();
+        assertThat(queue.position(first)).isEqualTo(1);
+        assertThat(queue.position(second)).isEqualTo(2);
+        assertThatThrownBy(() -> queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2026, 2, () -> {
+        })).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Should return the existing job for a period already queued or running")
+    void shouldDeduplicateByPeriod() throws InterruptedException {
+        UUID running = queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 1, this::block);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 1, () -> {
+        })).isEqualTo(running);
+        assertThat(queue.position(running)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep the period reserved after the queued work returns, until released")
+    void shouldKeepPeriodUntilReleased() throws InterruptedException {
+        CountDownLatch prepared = new CountDownLatch(1);
+        UUID solving = queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 1, prepared::countDown);
+        assertThat(prepared.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // O trabalho da fila acabou, mas o job continua a resolver
+        assertThat(queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 1, () -> {
+        })).isEqualTo(solving);
+
+        queue.release(solving);
+        UUID next = UUID.randomUUID();
+        assertThat(queue.submit(next, SolverJobQueue.Kind.GENERATE, 2025, 1, () -> {
+        })).isEqualTo(next);
+    }
+
+    @Test
+    @DisplayName("Should reject another kind of job, or a second repair, for a period in progress")
+    void shouldRejectConflictingKinds() throws InterruptedException {
+        UUID running = queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.REPAIR, 2025, 1, this::block);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 1, () -> {
+        })).isInstanceOf(ConflictException.class).hasMessageContaining(running.toString());
+        assertThatThrownBy(() -> queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.REPAIR, 2025, 1, () -> {
+        })).isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should drop a cancelled job from the queue and free its period")
+    void shouldCancelQueuedJob() throws InterruptedException {
+        UUID running = queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 1, this::block);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        UUID queued = queue.submit(UUID.randomUUID(), SolverJobQueue.Kind.GENERATE, 2025, 2, () -> {
+        });
+
+        assertThat(queue.cancel(running)).isFalse();
+        assertThat(queue.cancel(queued)).isTrue();
+        assertThat(queue.position(queued)).isNull();
+
+        UUID again = UUID.randomUUID();
+        assertThat(queue.submit(again, SolverJobQueue.Kind.GENERATE, 2025, 2, () -> {
+        })).isEqualTo(again);
+    }
+
+    private void block() {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
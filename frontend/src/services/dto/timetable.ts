@@ -5,8 +5,14 @@ export interface GenerationStartedResponse {
 
 export interface JobStatusResponse {
   jobId: string
-  status: 'SOLVING_ACTIVE' | 'SOLVING_SCHEDULED' | 'NOT_SOLVING'
+  status: 'SOLVING_ACTIVE' | 'SOLVING_SCHEDULED' | 'NOT_SOLVING' | 'QUEUED' | 'PREPARING' | 'FAILED'
   score: string | null
+  state: 'QUEUED' | 'PREPARING' | 'SOLVING' | 'PERSISTING' | 'DONE' | 'FAILED'
+  queuePosition: number | null
+  preparationMs: number | null
+  problemBuildMs: number | null
+  solveMs: number | null
+  persistMs: number | null
   message: string
 }
 
@@ -71,7 +71,9 @@ export const useTimetableStore = defineStore('timetable', () => {
       try {
         const result = await timetableService.getSolution(jobId)
         if (result !== null) return
-      } catch {
+      } catch (e: any) {
+        // 500: o job falhou (mensagem no corpo) — não adianta continuar
+        if (e?.response?.status === 500) throw e
         /* rede instável — continua a tentar */
       }
     }